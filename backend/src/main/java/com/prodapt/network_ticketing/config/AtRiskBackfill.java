@@ -0,0 +1,38 @@
+package com.prodapt.network_ticketing.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills ticket.at_risk_at for rows written before the column existed, with the same rule as
+ * SlaCalculator.atRiskAt: start + ceil(80% of the window in whole minutes). Only touches rows
+ * that are still null, so it is a no-op once the table has been migrated.
+ */
+@Component
+public class AtRiskBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(AtRiskBackfill.class);
+
+    private static final String BACKFILL_SQL = "update ticket "
+            + "set at_risk_at = timestampadd(MINUTE, ceil(timestampdiff(MINUTE, sla_start_time, sla_due_time) * 0.8), sla_start_time) "
+            + "where at_risk_at is null and timestampdiff(MINUTE, sla_start_time, sla_due_time) > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // EntityManagerFactory is only injected so this runs after Hibernate has created/updated the schema
+    public AtRiskBackfill(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        int updated = jdbcTemplate.update(BACKFILL_SQL);
+        if (updated > 0) {
+            log.info("Backfilled at_risk_at for {} tickets", updated);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.prodapt.network_ticketing.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process caches for reference data (issue categories, roles) and users.
+ * Reference data is evicted by the owning service on every change; the TTL only bounds staleness
+ * when another instance changed the data. Users have no write path here, so their cache relies on a short TTL.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ISSUE_CATEGORIES = "issueCategories";
+    public static final String ISSUE_CATEGORY = "issueCategory";
+    public static final String ROLES = "roles";
+    public static final String USERS = "users";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.reference.max-size:500}") long maxSize,
+                                     @Value("${app.cache.reference.ttl-minutes:60}") long ttlMinutes,
+                                     @Value("${app.cache.users.max-size:10000}") long userMaxSize,
+                                     @Value("${app.cache.users.ttl-seconds:60}") long userTtlSeconds) {
+        CaffeineCacheManager manager = new CaffeineCacheManager(ISSUE_CATEGORIES, ISSUE_CATEGORY, ROLES);
+        manager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats());
+        manager.registerCustomCache(USERS, Caffeine.newBuilder()
+                .maximumSize(userMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(userTtlSeconds))
+                .recordStats()
+                .build());
+        return manager;
+    }
+}
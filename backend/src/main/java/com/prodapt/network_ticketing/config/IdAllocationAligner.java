@@ -0,0 +1,64 @@
+package com.prodapt.network_ticketing.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ticket and history ids are handed out in blocks from the id_allocation table (see the
+ * TableGenerator on Ticket and TicketStatusHistory). Databases created while those ids were
+ * AUTO_INCREMENT already hold rows, so on startup each counter is moved past the highest
+ * existing id. Never moves a counter backwards, so it is safe to run on every boot.
+ *
+ * With Hibernate's pooled optimizer the stored value is the top of the next block, so a counter
+ * at V hands out V - ALLOCATION_SIZE + 1 .. V.
+ */
+@Component
+public class IdAllocationAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(IdAllocationAligner.class);
+
+    // must match allocationSize of the @TableGenerator mappings
+    private static final long ALLOCATION_SIZE = 50;
+
+    private static final String[][] SEGMENTS = {
+            // sequence_name, table, id column
+            {"ticket", "ticket", "ticket_id"},
+            {"ticket_status_history", "ticket_status_history", "history_id"}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // EntityManagerFactory is only injected so this runs after Hibernate has created/updated the schema
+    public IdAllocationAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        for (String[] segment : SEGMENTS) {
+            String name = segment[0];
+            long maxId = jdbcTemplate.queryForObject(
+                    "select coalesce(max(" + segment[2] + "), 0) from " + segment[1], Long.class);
+            if (maxId == 0) continue; // empty table, Hibernate's own initial value is fine
+
+            long floor = maxId + ALLOCATION_SIZE;
+
+            Long current = jdbcTemplate.query(
+                    "select next_val from id_allocation where sequence_name = ?",
+                    rs -> rs.next() ? rs.getLong(1) : null, name);
+
+            if (current == null) {
+                jdbcTemplate.update("insert into id_allocation (sequence_name, next_val) values (?, ?)", name, floor);
+                log.info("Id allocation for {} starts after {}", name, maxId);
+            } else if (current < floor) {
+                jdbcTemplate.update("update id_allocation set next_val = ? where sequence_name = ? and next_val < ?",
+                        floor, name, floor);
+                log.info("Id allocation for {} moved past existing id {}", name, maxId);
+            }
+        }
+    }
+}
@@ -49,7 +49,7 @@ public class AuthController {
         }
 
         // 4. Generate Token
-        String token = jwtUtil.generateToken(user.getUsername(), roleName);
+        String token = jwtUtil.generateToken(user.getUsername(), roleName, user.getUserId());
 
         return ResponseEntity.ok(Map.of(
                 "token", token,
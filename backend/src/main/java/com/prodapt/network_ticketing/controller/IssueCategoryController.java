@@ -1,8 +1,15 @@
 package com.prodapt.network_ticketing.controller;
 
+import com.prodapt.network_ticketing.dto.CachedCategory;
 import com.prodapt.network_ticketing.entity.IssueCategory;
 import com.prodapt.network_ticketing.service.IssueCategoryService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -16,9 +23,19 @@ public class IssueCategoryController {
         this.service = service;
     }
 
+    // served from the reference-data cache; clients revalidate with If-None-Match and get 304 when unchanged
     @GetMapping
-    public List<IssueCategory> getCategories() {
-        return service.findAll();
+    public ResponseEntity<List<CachedCategory>> getCategories(WebRequest request) {
+        List<CachedCategory> categories = service.findAll();
+        String etag = service.etag(categories);
+
+        // checkNotModified handles tag lists and weak tags, but only applies "*" to unsafe methods;
+        // for a GET "*" matches whenever the list exists, which it always does
+        boolean anyMatches = "*".equals(StringUtils.trimWhitespace(request.getHeader(HttpHeaders.IF_NONE_MATCH)));
+        if (anyMatches || request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(categories);
     }
 
     @PostMapping
@@ -31,6 +48,14 @@ public class IssueCategoryController {
         return service.update(id, category);
     }
 
+    // progress of the background SLA recalculation started by the last slaHours/calendar change
+    @GetMapping("/{id}/sla-recalculation")
+    public ResponseEntity<?> getSlaRecalculation(@PathVariable Long id) {
+        return service.getSlaRecalculation(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}")
     public void deleteCategory(@PathVariable Long id) {
         service.delete(id);
@@ -0,0 +1,38 @@
+package com.prodapt.network_ticketing.controller;
+
+import com.prodapt.network_ticketing.entity.SlaCalendar;
+import com.prodapt.network_ticketing.service.SlaCalendarService;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sla-calendars")
+@CrossOrigin(origins = "http://localhost:5173")
+public class SlaCalendarController {
+
+    private final SlaCalendarService service;
+
+    public SlaCalendarController(SlaCalendarService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public List<SlaCalendar> getCalendars() {
+        return service.findAll();
+    }
+
+    @PostMapping
+    public SlaCalendar createCalendar(@RequestBody SlaCalendar calendar) {
+        return service.save(calendar);
+    }
+
+    @PutMapping("/{id}")
+    public SlaCalendar updateCalendar(@PathVariable Long id, @RequestBody SlaCalendar calendar) {
+        return service.update(id, calendar);
+    }
+
+    @DeleteMapping("/{id}")
+    public void deleteCalendar(@PathVariable Long id) {
+        service.delete(id);
+    }
+}
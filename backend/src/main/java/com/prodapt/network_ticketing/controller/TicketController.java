@@ -3,6 +3,7 @@ package com.prodapt.network_ticketing.controller;
 import com.prodapt.network_ticketing.dto.*;
 import com.prodapt.network_ticketing.entity.Ticket;
 import com.prodapt.network_ticketing.service.TicketService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -27,7 +28,7 @@ public class TicketController {
         System.out.println("Category ID: " + request.getIssueCategoryId());
 
         Ticket ticket = ticketService.createTicket(request);
-        return ResponseEntity.ok(ticket);
+        return ResponseEntity.ok(ticketService.toDetail(ticket));
     }
 
     @PostMapping("/pick")
@@ -53,7 +54,7 @@ public class TicketController {
             System.out.println("Received pick request - ticketId=" + ticketId + " engineerId=" + engineerId);
 
             Ticket ticket = ticketService.pickTicket(ticketId, engineerId);
-            return ResponseEntity.ok(ticket);
+            return ResponseEntity.ok(ticketService.toDetail(ticket));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -68,7 +69,7 @@ public class TicketController {
                     request.getManagerId(),
                     request.getPriority()
             );
-            return ResponseEntity.ok(ticket);
+            return ResponseEntity.ok(ticketService.toDetail(ticket));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -85,13 +86,31 @@ public class TicketController {
                     request.getEngineerId(),
                     request.getResolutionSummary()
             );
-            return ResponseEntity.ok(ticket);
+            return ResponseEntity.ok(ticketService.toDetail(ticket));
         } catch (Exception e) {
             // THIS IS THE KEY: Print the stack trace to your Java console!
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
         }
     }
+    @PostMapping("/hold")
+    public ResponseEntity<?> holdTicket(@RequestBody PickTicketRequest request) {
+        try {
+            Ticket ticket = ticketService.holdTicket(request.getTicketId(), request.getEngineerId());
+            return ResponseEntity.ok(ticketService.toDetail(ticket));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    @PostMapping("/resume")
+    public ResponseEntity<?> resumeTicket(@RequestBody PickTicketRequest request) {
+        try {
+            Ticket ticket = ticketService.resumeTicket(request.getTicketId(), request.getEngineerId());
+            return ResponseEntity.ok(ticketService.toDetail(ticket));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
     @PostMapping("/close")
     public ResponseEntity<?> closeTicket(@RequestBody CloseTicketRequest request) {
         try {
@@ -99,7 +118,7 @@ public class TicketController {
                     request.getTicketId(),
                     request.getCustomerId()
             );
-            return ResponseEntity.ok(ticket);
+            return ResponseEntity.ok(ticketService.toDetail(ticket));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -113,7 +132,7 @@ public class TicketController {
                 request.getReopenReason()
         );
 
-        return ResponseEntity.ok(ticket);
+        return ResponseEntity.ok(ticketService.toDetail(ticket));
     }
 
     @GetMapping("/customer/{customerId}")
@@ -124,31 +143,48 @@ public class TicketController {
     public ResponseEntity<?> getTicketsForEngineer(@PathVariable Long engineerId) {
         return ResponseEntity.ok(ticketService.getTicketsForEngineer(engineerId));
     }
+    // Deprecated: the newest 1000 tickets only, kept for existing clients; page through GET /api/tickets instead
     @GetMapping("/all")
     public ResponseEntity<?> getAllTickets() {
-        return ResponseEntity.ok(ticketService.getAllTickets());
+        return ResponseEntity.ok()
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "</api/tickets>; rel=\"successor-version\"")
+                .body(ticketService.getAllTickets());
+    }
+
+    @GetMapping
+    public ResponseEntity<?> searchTickets(
+            TicketSearchCriteria criteria,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(ticketService.searchTickets(criteria, cursor, size));
+    }
+    @GetMapping("/{ticketId}")
+    public ResponseEntity<?> getTicket(@PathVariable Long ticketId) {
+        return ResponseEntity.ok(ticketService.getTicketDetail(ticketId));
     }
     @GetMapping("/{ticketId}/history")
     public ResponseEntity<?> getTicketHistory(@PathVariable Long ticketId) {
         return ResponseEntity.ok(ticketService.getTicketHistory(ticketId));
     }
     @PutMapping("/{ticketId}/priority")
-    public ResponseEntity<Ticket> updatePriority(
+    public ResponseEntity<TicketDetail> updatePriority(
             @PathVariable Long ticketId,
             @RequestBody Map<String, String> body
     ) {
         return ResponseEntity.ok(
-                ticketService.updatePriority(ticketId, body.get("priority"))
+                ticketService.toDetail(ticketService.updatePriority(ticketId, body.get("priority")))
         );
     }
 
     @PutMapping("/{ticketId}/assign")
-    public ResponseEntity<Ticket> assignEngineer(
+    public ResponseEntity<TicketDetail> assignEngineer(
             @PathVariable Long ticketId,
             @RequestBody Map<String, Long> body
     ) {
         return ResponseEntity.ok(
-                ticketService.assignEngineer(ticketId, body.get("engineerId"))
+                ticketService.toDetail(ticketService.assignEngineer(ticketId, body.get("engineerId")))
         );
     }
 
@@ -157,7 +193,7 @@ public class TicketController {
     public ResponseEntity<?> setSlaMinutes(@PathVariable Long ticketId, @RequestParam long minutes) {
         try {
             Ticket t = ticketService.setSlaMinutes(ticketId, minutes);
-            return ResponseEntity.ok(t);
+            return ResponseEntity.ok(ticketService.toDetail(t));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -171,7 +207,7 @@ public class TicketController {
     ) {
         try {
             Ticket ticket = ticketService.addAiResolution(ticketId, request.getAiResolution());
-            return ResponseEntity.ok(ticket);
+            return ResponseEntity.ok(ticketService.toDetail(ticket));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
@@ -182,14 +218,32 @@ public class TicketController {
     public ResponseEntity<?> autoAssign(@PathVariable Long ticketId) {
         try {
             Ticket ticket = ticketService.autoAssignTicket(ticketId);
-            return ResponseEntity.ok(ticket);
+            return ResponseEntity.ok(ticketService.toDetail(ticket));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    // tickets turning AT_RISK or BREACHED within the next N minutes, soonest first
+    @GetMapping("/sla/upcoming")
+    public ResponseEntity<?> getUpcomingSlaEvents(
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(ticketService.getUpcomingSlaEvents(minutes, limit));
+    }
+
+    // per hour of the next N: how many tickets breach unless resolved first, by category and engineer
+    @GetMapping("/sla/forecast")
+    public ResponseEntity<?> getSlaBreachForecast(@RequestParam(defaultValue = "24") int hours) {
+        return ResponseEntity.ok(ticketService.getSlaBreachForecast(hours));
+    }
+
     @GetMapping("/engineer/{engineerId}/queue")
-    public ResponseEntity<?> getEngineerQueue(@PathVariable Long engineerId) {
-        return ResponseEntity.ok(ticketService.getEngineerQueue(engineerId));
+    public ResponseEntity<?> getEngineerQueue(
+            @PathVariable Long engineerId,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(ticketService.getEngineerQueue(engineerId, limit));
     }
 }
@@ -0,0 +1,62 @@
+package com.prodapt.network_ticketing.dto;
+
+import com.prodapt.network_ticketing.entity.IssueCategory;
+
+/**
+ * Immutable view of an issue category kept in the reference-data cache and the classifier index. Callers that
+ * need the IssueCategory as an association take a reference by id (see IssueCategoryRepository.getReferenceById).
+ */
+public final class CachedCategory {
+
+    private final Long categoryId;
+    private final String categoryCode;
+    private final String categoryName;
+    private final String description;
+    private final Integer slaHours;
+    private final Long slaCalendarId;
+    private final Boolean isActive;
+
+    public CachedCategory(Long categoryId, String categoryCode, String categoryName, String description,
+                          Integer slaHours, Long slaCalendarId, Boolean isActive) {
+        this.categoryId = categoryId;
+        this.categoryCode = categoryCode;
+        this.categoryName = categoryName;
+        this.description = description;
+        this.slaHours = slaHours;
+        this.slaCalendarId = slaCalendarId;
+        this.isActive = isActive;
+    }
+
+    public static CachedCategory from(IssueCategory category) {
+        return new CachedCategory(category.getCategoryId(), category.getCategoryCode(), category.getCategoryName(),
+                category.getDescription(), category.getSlaHours(), category.getSlaCalendarId(), category.getIsActive());
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryCode() {
+        return categoryCode;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Integer getSlaHours() {
+        return slaHours;
+    }
+
+    public Long getSlaCalendarId() {
+        return slaCalendarId;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+}
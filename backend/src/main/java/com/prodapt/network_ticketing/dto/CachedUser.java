@@ -0,0 +1,48 @@
+package com.prodapt.network_ticketing.dto;
+
+import com.prodapt.network_ticketing.entity.enums.RoleName;
+
+/**
+ * Immutable view of a user kept in the user cache (no credentials, no entity state). Callers that need the
+ * User as an association take a reference by id (see UserRepository.getReferenceById).
+ */
+public final class CachedUser {
+
+    private final Long userId;
+    private final String name;
+    private final String username;
+    private final String email;
+    private final RoleName role;
+
+    public CachedUser(Long userId, String name, String username, String email, RoleName role) {
+        this.userId = userId;
+        this.name = name;
+        this.username = username;
+        this.email = email;
+        this.role = role;
+    }
+
+    public boolean hasRole(RoleName expected) {
+        return role == expected;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public RoleName getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,27 @@
+package com.prodapt.network_ticketing.dto;
+
+import com.prodapt.network_ticketing.entity.IssueCategory;
+
+public class CategorySummary {
+
+    private final Long categoryId;
+    private final String categoryName;
+
+    public CategorySummary(Long categoryId, String categoryName) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+    }
+
+    public static CategorySummary from(IssueCategory category) {
+        if (category == null) return null;
+        return new CategorySummary(category.getCategoryId(), category.getCategoryName());
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+}
@@ -0,0 +1,83 @@
+package com.prodapt.network_ticketing.dto;
+
+import java.util.Objects;
+
+/**
+ * Open workload of one engineer, aggregated over their tickets that are not yet RESOLVED or CLOSED.
+ * riskScore weighs each open ticket by SLA state: BREACHED 3, AT_RISK 2, anything else 1.
+ */
+public class EngineerLoad {
+
+    private final Long engineerId;
+    private final long openCount;
+    private final long atRiskCount;
+    private final long breachedCount;
+    private final long highCount;
+
+    public EngineerLoad(Long engineerId, Long openCount, Long atRiskCount, Long breachedCount, Long highCount) {
+        this.engineerId = engineerId;
+        this.openCount = openCount == null ? 0 : openCount;
+        this.atRiskCount = atRiskCount == null ? 0 : atRiskCount;
+        this.breachedCount = breachedCount == null ? 0 : breachedCount;
+        this.highCount = highCount == null ? 0 : highCount;
+    }
+
+    public static EngineerLoad idle(Long engineerId) {
+        return new EngineerLoad(engineerId, 0L, 0L, 0L, 0L);
+    }
+
+    // component-wise sum, used to apply +1/-1 ticket contributions
+    public EngineerLoad plus(EngineerLoad other) {
+        return new EngineerLoad(engineerId,
+                openCount + other.openCount,
+                atRiskCount + other.atRiskCount,
+                breachedCount + other.breachedCount,
+                highCount + other.highCount);
+    }
+
+    public EngineerLoad negate() {
+        return new EngineerLoad(engineerId, -openCount, -atRiskCount, -breachedCount, -highCount);
+    }
+
+    public boolean isIdle() {
+        return openCount == 0 && atRiskCount == 0 && breachedCount == 0 && highCount == 0;
+    }
+
+    public Long getEngineerId() {
+        return engineerId;
+    }
+
+    public long getOpenCount() {
+        return openCount;
+    }
+
+    public long getAtRiskCount() {
+        return atRiskCount;
+    }
+
+    public long getBreachedCount() {
+        return breachedCount;
+    }
+
+    public long getHighCount() {
+        return highCount;
+    }
+
+    public long getRiskScore() {
+        return openCount + atRiskCount + 2 * breachedCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EngineerLoad other)) return false;
+        return openCount == other.openCount && atRiskCount == other.atRiskCount
+                && breachedCount == other.breachedCount && highCount == other.highCount
+                && Objects.equals(engineerId, other.engineerId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(engineerId, openCount, atRiskCount, breachedCount, highCount);
+    }
+}
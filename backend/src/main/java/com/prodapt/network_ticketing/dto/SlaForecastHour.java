@@ -0,0 +1,39 @@
+package com.prodapt.network_ticketing.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Tickets that breach in one hour unless they are resolved or put on hold first,
+ * with the same count split by category id and by engineer id.
+ */
+public class SlaForecastHour {
+
+    private final LocalDateTime hour;
+    private final long breaching;
+    private final Map<Long, Long> byCategory;
+    private final Map<Long, Long> byEngineer;
+
+    public SlaForecastHour(LocalDateTime hour, long breaching, Map<Long, Long> byCategory, Map<Long, Long> byEngineer) {
+        this.hour = hour;
+        this.breaching = breaching;
+        this.byCategory = byCategory;
+        this.byEngineer = byEngineer;
+    }
+
+    public LocalDateTime getHour() {
+        return hour;
+    }
+
+    public long getBreaching() {
+        return breaching;
+    }
+
+    public Map<Long, Long> getByCategory() {
+        return byCategory;
+    }
+
+    public Map<Long, Long> getByEngineer() {
+        return byEngineer;
+    }
+}
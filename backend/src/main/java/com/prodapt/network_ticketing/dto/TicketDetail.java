@@ -0,0 +1,65 @@
+package com.prodapt.network_ticketing.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.prodapt.network_ticketing.entity.Ticket;
+
+import java.time.LocalDateTime;
+
+/**
+ * Full single-ticket view: the summary plus the TEXT columns and closure details.
+ */
+public class TicketDetail extends TicketSummary {
+
+    private final String description;
+    private final String resolutionSummary;
+    private final String aiResolution;
+    private final String closedBy;
+    private final LocalDateTime closedAt;
+    private final long slaPausedSeconds;
+
+    private TicketDetail(Ticket ticket) {
+        super(ticket);
+        this.description = ticket.getDescription();
+        this.resolutionSummary = ticket.getResolutionSummary();
+        this.aiResolution = ticket.getAiResolution();
+        this.closedBy = ticket.getClosedBy();
+        this.closedAt = ticket.getClosedAt();
+        this.slaPausedSeconds = ticket.getSlaPausedSeconds();
+    }
+
+    public static TicketDetail from(Ticket ticket) {
+        return new TicketDetail(ticket);
+    }
+
+    // the full description is returned instead
+    @JsonIgnore
+    @Override
+    public String getDescriptionPreview() {
+        return super.getDescriptionPreview();
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getResolutionSummary() {
+        return resolutionSummary;
+    }
+
+    public String getAiResolution() {
+        return aiResolution;
+    }
+
+    public String getClosedBy() {
+        return closedBy;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    // finished ON_HOLD time, the SLA clock did not run during it
+    public long getSlaPausedSeconds() {
+        return slaPausedSeconds;
+    }
+}
@@ -0,0 +1,43 @@
+package com.prodapt.network_ticketing.dto;
+
+import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+
+public class TicketHistoryEntry {
+
+    private final Long historyId;
+    private final TicketStatus oldStatus;
+    private final TicketStatus newStatus;
+    private final LocalDateTime changedAt;
+    private final UserSummary changedBy;
+
+    public TicketHistoryEntry(Long historyId, TicketStatus oldStatus, TicketStatus newStatus, LocalDateTime changedAt,
+                              Long changedById, String changedByName, String changedByUsername) {
+        this.historyId = historyId;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.changedAt = changedAt;
+        this.changedBy = UserSummary.of(changedById, changedByName, changedByUsername);
+    }
+
+    public Long getHistoryId() {
+        return historyId;
+    }
+
+    public TicketStatus getOldStatus() {
+        return oldStatus;
+    }
+
+    public TicketStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public UserSummary getChangedBy() {
+        return changedBy;
+    }
+}
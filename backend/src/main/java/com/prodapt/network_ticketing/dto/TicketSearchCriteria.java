@@ -0,0 +1,92 @@
+package com.prodapt.network_ticketing.dto;
+
+import com.prodapt.network_ticketing.entity.enums.Priority;
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Optional server-side filters for GET /api/tickets. Unset fields are ignored.
+ */
+public class TicketSearchCriteria {
+
+    private List<TicketStatus> status;
+    private List<SlaStatus> slaStatus;
+    private List<Priority> priority;
+    private Long categoryId;
+    private Long engineerId;
+    private Long customerId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    public List<TicketStatus> getStatus() {
+        return status;
+    }
+
+    public void setStatus(List<TicketStatus> status) {
+        this.status = status;
+    }
+
+    public List<SlaStatus> getSlaStatus() {
+        return slaStatus;
+    }
+
+    public void setSlaStatus(List<SlaStatus> slaStatus) {
+        this.slaStatus = slaStatus;
+    }
+
+    public List<Priority> getPriority() {
+        return priority;
+    }
+
+    public void setPriority(List<Priority> priority) {
+        this.priority = priority;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getEngineerId() {
+        return engineerId;
+    }
+
+    public void setEngineerId(Long engineerId) {
+        this.engineerId = engineerId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+}
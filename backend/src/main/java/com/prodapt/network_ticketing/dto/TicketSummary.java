@@ -0,0 +1,185 @@
+package com.prodapt.network_ticketing.dto;
+
+import com.prodapt.network_ticketing.entity.Ticket;
+import com.prodapt.network_ticketing.entity.enums.Priority;
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+import com.prodapt.network_ticketing.sla.SlaSubject;
+
+import java.time.LocalDateTime;
+
+/**
+ * List row for the customer, engineer and manager views. Loaded with a single
+ * constructor-expression query; the TEXT columns are reduced to a short preview.
+ */
+public class TicketSummary implements SlaSubject {
+
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 200;
+
+    private final Long ticketId;
+    private final String ticketReference;
+    private final String descriptionPreview;
+    private final TicketStatus status;
+    private final Priority priority;
+    private final SlaStatus slaStatus;
+    private final LocalDateTime slaStartTime;
+    private final LocalDateTime slaDueTime;
+    private final LocalDateTime atRiskAt;
+    private final LocalDateTime slaPausedAt;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime lastUpdatedAt;
+    private final UserSummary customer;
+    private final UserSummary assignedEngineer;
+    private final UserSummary assignedByManager;
+    private final CategorySummary issueCategory;
+
+    // 🔹 SLA read model, filled in by SlaCalculator
+    private SlaStatus effectiveSlaStatus;
+    private Long slaRemainingMinutes;
+
+    // used by the JPQL constructor expressions in TicketRepository
+    public TicketSummary(Long ticketId, String ticketReference, String descriptionPreview,
+                         TicketStatus status, Priority priority, SlaStatus slaStatus,
+                         LocalDateTime slaStartTime, LocalDateTime slaDueTime, LocalDateTime atRiskAt,
+                         LocalDateTime slaPausedAt, LocalDateTime createdAt, LocalDateTime lastUpdatedAt,
+                         Long customerId, String customerName, String customerUsername,
+                         Long engineerId, String engineerName, String engineerUsername,
+                         Long managerId, String managerName, String managerUsername,
+                         Long categoryId, String categoryName) {
+        this.ticketId = ticketId;
+        this.ticketReference = ticketReference;
+        this.descriptionPreview = descriptionPreview;
+        this.status = status;
+        this.priority = priority;
+        this.slaStatus = slaStatus;
+        this.slaStartTime = slaStartTime;
+        this.slaDueTime = slaDueTime;
+        this.atRiskAt = atRiskAt;
+        this.slaPausedAt = slaPausedAt;
+        this.createdAt = createdAt;
+        this.lastUpdatedAt = lastUpdatedAt;
+        this.customer = UserSummary.of(customerId, customerName, customerUsername);
+        this.assignedEngineer = UserSummary.of(engineerId, engineerName, engineerUsername);
+        this.assignedByManager = UserSummary.of(managerId, managerName, managerUsername);
+        this.issueCategory = categoryId == null ? null : new CategorySummary(categoryId, categoryName);
+    }
+
+    protected TicketSummary(Ticket ticket) {
+        this.ticketId = ticket.getTicketId();
+        this.ticketReference = ticket.getTicketReference();
+        this.descriptionPreview = preview(ticket.getDescription());
+        this.status = ticket.getStatus();
+        this.priority = ticket.getPriority();
+        this.slaStatus = ticket.getSlaStatus();
+        this.slaStartTime = ticket.getSlaStartTime();
+        this.slaDueTime = ticket.getSlaDueTime();
+        this.atRiskAt = ticket.getAtRiskAt();
+        this.slaPausedAt = ticket.getSlaPausedAt();
+        this.createdAt = ticket.getCreatedAt();
+        this.lastUpdatedAt = ticket.getLastUpdatedAt();
+        this.customer = UserSummary.from(ticket.getCustomer());
+        this.assignedEngineer = UserSummary.from(ticket.getAssignedEngineer());
+        this.assignedByManager = UserSummary.from(ticket.getAssignedByManager());
+        this.issueCategory = CategorySummary.from(ticket.getIssueCategory());
+    }
+
+    public static TicketSummary from(Ticket ticket) {
+        return new TicketSummary(ticket);
+    }
+
+    private static String preview(String text) {
+        if (text == null || text.length() <= DESCRIPTION_PREVIEW_LENGTH) return text;
+        return text.substring(0, DESCRIPTION_PREVIEW_LENGTH);
+    }
+
+    @Override
+    public boolean hasManagerAssignment() {
+        return assignedByManager != null;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public String getTicketReference() {
+        return ticketReference;
+    }
+
+    public String getDescriptionPreview() {
+        return descriptionPreview;
+    }
+
+    @Override
+    public TicketStatus getStatus() {
+        return status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    @Override
+    public SlaStatus getSlaStatus() {
+        return slaStatus;
+    }
+
+    @Override
+    public LocalDateTime getSlaStartTime() {
+        return slaStartTime;
+    }
+
+    @Override
+    public LocalDateTime getSlaDueTime() {
+        return slaDueTime;
+    }
+
+    @Override
+    public LocalDateTime getAtRiskAt() {
+        return atRiskAt;
+    }
+
+    @Override
+    public LocalDateTime getSlaPausedAt() {
+        return slaPausedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    public UserSummary getCustomer() {
+        return customer;
+    }
+
+    public UserSummary getAssignedEngineer() {
+        return assignedEngineer;
+    }
+
+    public UserSummary getAssignedByManager() {
+        return assignedByManager;
+    }
+
+    public CategorySummary getIssueCategory() {
+        return issueCategory;
+    }
+
+    public SlaStatus getEffectiveSlaStatus() {
+        return effectiveSlaStatus;
+    }
+
+    public void setEffectiveSlaStatus(SlaStatus effectiveSlaStatus) {
+        this.effectiveSlaStatus = effectiveSlaStatus;
+    }
+
+    public Long getSlaRemainingMinutes() {
+        return slaRemainingMinutes;
+    }
+
+    public void setSlaRemainingMinutes(Long slaRemainingMinutes) {
+        this.slaRemainingMinutes = slaRemainingMinutes;
+    }
+}
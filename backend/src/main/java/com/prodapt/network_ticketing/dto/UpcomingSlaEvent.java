@@ -0,0 +1,33 @@
+package com.prodapt.network_ticketing.dto;
+
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ticket that will change SLA status soon: it becomes {@code becomes} at {@code at}.
+ */
+public class UpcomingSlaEvent {
+
+    private final TicketSummary ticket;
+    private final SlaStatus becomes;
+    private final LocalDateTime at;
+
+    public UpcomingSlaEvent(TicketSummary ticket, SlaStatus becomes, LocalDateTime at) {
+        this.ticket = ticket;
+        this.becomes = becomes;
+        this.at = at;
+    }
+
+    public TicketSummary getTicket() {
+        return ticket;
+    }
+
+    public SlaStatus getBecomes() {
+        return becomes;
+    }
+
+    public LocalDateTime getAt() {
+        return at;
+    }
+}
@@ -0,0 +1,41 @@
+package com.prodapt.network_ticketing.dto;
+
+import com.prodapt.network_ticketing.entity.User;
+
+/**
+ * Public view of a user embedded in ticket responses (no credentials, no role graph).
+ */
+public class UserSummary {
+
+    private final Long userId;
+    private final String name;
+    private final String username;
+
+    public UserSummary(Long userId, String name, String username) {
+        this.userId = userId;
+        this.name = name;
+        this.username = username;
+    }
+
+    public static UserSummary from(User user) {
+        if (user == null) return null;
+        return new UserSummary(user.getUserId(), user.getName(), user.getUsername());
+    }
+
+    // null when the joined user does not exist (e.g. no engineer assigned yet)
+    static UserSummary of(Long userId, String name, String username) {
+        return userId == null ? null : new UserSummary(userId, name, username);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
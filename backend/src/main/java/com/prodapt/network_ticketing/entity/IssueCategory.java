@@ -23,6 +23,10 @@ public class IssueCategory {
     @Column(name = "sla_hours", nullable = false)
     private Integer slaHours;
 
+    // business-hours calendar the SLA counts in (sla_calendar); null = 24x7
+    @Column(name = "sla_calendar_id")
+    private Long slaCalendarId;
+
     @Column(name = "is_active")
     private Boolean isActive = true;
 
@@ -71,6 +75,14 @@ public class IssueCategory {
         this.slaHours = slaHours;
     }
 
+    public Long getSlaCalendarId() {
+        return slaCalendarId;
+    }
+
+    public void setSlaCalendarId(Long slaCalendarId) {
+        this.slaCalendarId = slaCalendarId;
+    }
+
     public Boolean getIsActive() {
         return isActive;
     }
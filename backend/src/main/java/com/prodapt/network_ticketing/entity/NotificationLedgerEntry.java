@@ -0,0 +1,63 @@
+package com.prodapt.network_ticketing.entity;
+
+import com.prodapt.network_ticketing.entity.enums.NotificationType;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Record that a ticket's SLA notification was queued for one SLA window. The unique key is what makes
+ * the notification happen once across threads and nodes; rows are written by NotificationLedger via JDBC.
+ */
+@Entity
+@Table(name = "notification_ledger", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ledger_ticket_event_window", columnNames = {"ticket_id", "event", "window_start"})
+}, indexes = {
+        // retention purge (NotificationLedger.purge)
+        @Index(name = "idx_ledger_created_at", columnList = "created_at")
+})
+public class NotificationLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ledger_id")
+    private Long ledgerId;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Column(name = "event", nullable = false, length = 50)
+    @Enumerated(EnumType.STRING)
+    private NotificationType event;
+
+    // sla_start_time of the window the notification belongs to; a restarted SLA notifies again
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // 🔹 No-args constructor (required by JPA)
+    public NotificationLedgerEntry() {
+    }
+
+    // 🔹 Getters
+    public Long getLedgerId() {
+        return ledgerId;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public NotificationType getEvent() {
+        return event;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
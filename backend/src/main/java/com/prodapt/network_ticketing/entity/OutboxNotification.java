@@ -0,0 +1,146 @@
+package com.prodapt.network_ticketing.entity;
+
+import com.prodapt.network_ticketing.entity.enums.NotificationType;
+import com.prodapt.network_ticketing.entity.enums.OutboxStatus;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One rendered email waiting in the outbox. Written in the transaction of the ticket change that caused it,
+ * delivered afterwards by the OutboxDispatcher.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        // the dispatcher's poll: due PENDING rows
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        // a recipient's rows waiting for their digest
+        @Index(name = "idx_outbox_recipient_status", columnList = "recipient, status")
+})
+public class OutboxNotification {
+
+    // block-allocated like ticket ids, so the rows of a breach storm are inserted in JDBC batches
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_id_gen")
+    @TableGenerator(name = "outbox_id_gen", table = "id_allocation",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "notification_outbox", allocationSize = 50)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private NotificationType type;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    // the HTML alternative of body; null for plain-text notifications
+    @Column(name = "html_body", columnDefinition = "TEXT")
+    private String htmlBody;
+
+    // held back and sent with the recipient's other digest rows in one email
+    @Column(name = "digest", nullable = false)
+    private boolean digest;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // 🔹 No-args constructor (required by JPA)
+    public OutboxNotification() {
+    }
+
+    public OutboxNotification(NotificationType type, Long ticketId, String recipient, String subject, String body,
+                              String htmlBody, boolean digest, LocalDateTime now) {
+        this.type = type;
+        this.ticketId = ticketId;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.htmlBody = htmlBody;
+        this.digest = digest;
+        this.createdAt = now;
+        this.nextAttemptAt = now;
+    }
+
+    // 🔹 Getters
+    public Long getOutboxId() {
+        return outboxId;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public String getHtmlBody() {
+        return htmlBody;
+    }
+
+    public boolean isDigest() {
+        return digest;
+    }
+
+    public OutboxStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
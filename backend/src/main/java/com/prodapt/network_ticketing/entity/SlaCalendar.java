@@ -0,0 +1,92 @@
+package com.prodapt.network_ticketing.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Business hours an SLA counts in: the working day on the listed weekdays, minus holidays.
+ * Issue categories point at one by id; categories without a calendar run 24x7.
+ */
+@Entity
+@Table(name = "sla_calendar")
+public class SlaCalendar {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "calendar_id")
+    private Long calendarId;
+
+    @Column(name = "name", nullable = false, unique = true)
+    private String name;
+
+    @Column(name = "workday_start", nullable = false)
+    private LocalTime workdayStart;
+
+    @Column(name = "workday_end", nullable = false)
+    private LocalTime workdayEnd;
+
+    // comma separated DayOfWeek names, e.g. MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY
+    @Column(name = "working_days", nullable = false)
+    private String workingDays;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "sla_calendar_holiday", joinColumns = @JoinColumn(name = "calendar_id"))
+    @Column(name = "holiday_date", nullable = false)
+    private Set<LocalDate> holidays = new HashSet<>();
+
+    // 🔹 No-args constructor (required by JPA)
+    public SlaCalendar() {
+    }
+
+    // 🔹 Getters and Setters
+    public Long getCalendarId() {
+        return calendarId;
+    }
+
+    public void setCalendarId(Long calendarId) {
+        this.calendarId = calendarId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalTime getWorkdayStart() {
+        return workdayStart;
+    }
+
+    public void setWorkdayStart(LocalTime workdayStart) {
+        this.workdayStart = workdayStart;
+    }
+
+    public LocalTime getWorkdayEnd() {
+        return workdayEnd;
+    }
+
+    public void setWorkdayEnd(LocalTime workdayEnd) {
+        this.workdayEnd = workdayEnd;
+    }
+
+    public String getWorkingDays() {
+        return workingDays;
+    }
+
+    public void setWorkingDays(String workingDays) {
+        this.workingDays = workingDays;
+    }
+
+    public Set<LocalDate> getHolidays() {
+        return holidays;
+    }
+
+    public void setHolidays(Set<LocalDate> holidays) {
+        this.holidays = holidays;
+    }
+}
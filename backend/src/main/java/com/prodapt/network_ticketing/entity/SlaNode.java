@@ -0,0 +1,40 @@
+package com.prodapt.network_ticketing.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A backend instance taking part in SLA processing, alive while its heartbeat is recent.
+ */
+@Entity
+@Table(name = "sla_node")
+public class SlaNode {
+
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    // 🔹 No-args constructor (required by JPA)
+    public SlaNode() {
+    }
+
+    // 🔹 Getters and Setters
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+}
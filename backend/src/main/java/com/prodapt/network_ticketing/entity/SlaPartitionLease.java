@@ -0,0 +1,52 @@
+package com.prodapt.network_ticketing.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One slice of the ticket id space (ticket_id mod partition count) and the node that currently
+ * runs SLA processing for it. Read and written by SlaPartitionLeases with conditional UPDATEs.
+ */
+@Entity
+@Table(name = "sla_partition_lease")
+public class SlaPartitionLease {
+
+    @Id
+    @Column(name = "partition_id")
+    private Integer partitionId;
+
+    @Column(name = "owner_node", length = 100)
+    private String ownerNode;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    // 🔹 No-args constructor (required by JPA)
+    public SlaPartitionLease() {
+    }
+
+    // 🔹 Getters and Setters
+    public Integer getPartitionId() {
+        return partitionId;
+    }
+
+    public void setPartitionId(Integer partitionId) {
+        this.partitionId = partitionId;
+    }
+
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+
+    public void setOwnerNode(String ownerNode) {
+        this.ownerNode = ownerNode;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+}
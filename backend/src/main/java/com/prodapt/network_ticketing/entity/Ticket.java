@@ -3,15 +3,39 @@ package com.prodapt.network_ticketing.entity;
 import com.prodapt.network_ticketing.entity.enums.Priority;
 import com.prodapt.network_ticketing.entity.enums.SlaStatus;
 import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+import com.prodapt.network_ticketing.entity.generator.TicketReference;
+import com.prodapt.network_ticketing.sla.SlaCalculator;
+import com.prodapt.network_ticketing.sla.SlaSubject;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ticket")
-public class Ticket {
-
+@Table(name = "ticket", indexes = {
+        @Index(name = "idx_ticket_status", columnList = "status"),
+        @Index(name = "idx_ticket_sla_status", columnList = "sla_status"),
+        @Index(name = "idx_ticket_priority", columnList = "priority"),
+        @Index(name = "idx_ticket_created_at", columnList = "created_at"),
+        // listing filters most combined with the newest-first keyset order: equality on every column before
+        // ticket_id lets MySQL read the page in index order instead of sorting the matching rows
+        @Index(name = "idx_ticket_status_priority_id", columnList = "status, priority, ticket_id"),
+        @Index(name = "idx_ticket_customer_status_id", columnList = "customer_id, status, ticket_id"),
+        @Index(name = "idx_ticket_engineer_status_id", columnList = "assigned_engineer_id, status, ticket_id"),
+        // engineer queue branches, each read in urgency order straight from the index (see findQueueByStatus*)
+        @Index(name = "idx_ticket_queue", columnList = "status, assigned_engineer_id, sla_rank, priority_rank, sla_due_time"),
+        @Index(name = "idx_ticket_queue_any", columnList = "status, sla_rank, priority_rank, sla_due_time"),
+        // range scans for "what turns AT_RISK / BREACHED next"
+        @Index(name = "idx_ticket_status_at_risk", columnList = "status, at_risk_at"),
+        @Index(name = "idx_ticket_status_sla_due", columnList = "status, sla_due_time")
+})
+public class Ticket implements SlaSubject {
+
+    // Block-allocated ids (see IdAllocationAligner): the id, and so the reference, is known before the
+    // INSERT, and inserts can be JDBC-batched, which IDENTITY prevents.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ticket_id_gen")
+    @TableGenerator(name = "ticket_id_gen", table = "id_allocation",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "ticket", allocationSize = 50)
     @Column(name = "ticket_id")
     private Long ticketId;
 
@@ -24,6 +48,11 @@ public class Ticket {
     @JoinColumn(name = "assigned_engineer_id")
     private User assignedEngineer;
 
+    // the same column, for queries that must filter on ticket.assigned_engineer_id itself (an index column)
+    // while also joining the engineer; written only through assignedEngineer
+    @Column(name = "assigned_engineer_id", insertable = false, updatable = false)
+    private Long assignedEngineerId;
+
     @ManyToOne
     @JoinColumn(name = "assigned_by_manager_id")
     private User assignedByManager;
@@ -38,6 +67,7 @@ public class Ticket {
     private String description;
 
     @Column(name = "ticket_reference", unique = true)
+    @TicketReference
     private String ticketReference;
 
     @Enumerated(EnumType.STRING)
@@ -55,10 +85,34 @@ public class Ticket {
     @Column(name = "sla_due_time", nullable = false)
     private LocalDateTime slaDueTime;
 
+    // 80% point of the SLA window, so it can be range-queried. The start/due setters keep it at the 24x7 value;
+    // TicketServiceImpl overrides it with the business-hours value when the category has an SLA calendar
+    @Column(name = "at_risk_at")
+    private LocalDateTime atRiskAt;
+
+    // SLA pause accounting: start of the current ON_HOLD segment, and the total of finished ones. Due time
+    // and AT_RISK point are pushed back when a pause ends, so they always hold the effective deadline.
+    @Column(name = "sla_paused_at")
+    private LocalDateTime slaPausedAt;
+
+    @Column(name = "sla_paused_seconds", nullable = false)
+    private long slaPausedSeconds;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "sla_status")
     private SlaStatus slaStatus;
 
+    // Urgency ranks of sla_status and priority for ordering by index. Computed by the database, so every
+    // write path (entity, bulk JPQL, SlaRecalculator's SQL) keeps them current; read only by queries.
+    // Same order as slaRank/priorityRank below.
+    @Column(name = "sla_rank", insertable = false, updatable = false, columnDefinition = "tinyint generated always as "
+            + "(case sla_status when 'BREACHED' then 0 when 'AT_RISK' then 1 when 'ON_TRACK' then 2 else 3 end)")
+    private Integer slaRank;
+
+    @Column(name = "priority_rank", insertable = false, updatable = false, columnDefinition = "tinyint generated always as "
+            + "(case priority when 'HIGH' then 0 when 'MEDIUM' then 1 when 'LOW' then 2 else 3 end)")
+    private Integer priorityRank;
+
     // 🔹 Resolution & closure
     @Column(name = "resolution_summary", columnDefinition = "TEXT")
     private String resolutionSummary;
@@ -90,6 +144,24 @@ public class Ticket {
         this.lastUpdatedAt = lastUpdatedAt;
     }
 
+    // BREACHED, AT_RISK, ON_TRACK, then none
+    public static int slaRank(SlaStatus slaStatus) {
+        return slaStatus == null ? 3 : switch (slaStatus) {
+            case BREACHED -> 0;
+            case AT_RISK -> 1;
+            case ON_TRACK -> 2;
+        };
+    }
+
+    // HIGH, MEDIUM, LOW, then none
+    public static int priorityRank(Priority priority) {
+        return priority == null ? 3 : switch (priority) {
+            case HIGH -> 0;
+            case MEDIUM -> 1;
+            case LOW -> 2;
+        };
+    }
+
     // 🔹 JPA required constructor
     public Ticket() {
     }
@@ -171,6 +243,7 @@ public class Ticket {
         this.ticketReference = ticketReference;
     }
 
+    @Override
     public TicketStatus getStatus() {
         return status;
     }
@@ -187,22 +260,53 @@ public class Ticket {
         this.priority = priority;
     }
 
+    @Override
     public LocalDateTime getSlaStartTime() {
         return slaStartTime;
     }
 
     public void setSlaStartTime(LocalDateTime slaStartTime) {
         this.slaStartTime = slaStartTime;
+        this.atRiskAt = SlaCalculator.atRiskAt(this.slaStartTime, this.slaDueTime);
     }
 
+    @Override
     public LocalDateTime getSlaDueTime() {
         return slaDueTime;
     }
 
     public void setSlaDueTime(LocalDateTime slaDueTime) {
         this.slaDueTime = slaDueTime;
+        this.atRiskAt = SlaCalculator.atRiskAt(this.slaStartTime, this.slaDueTime);
+    }
+
+    @Override
+    public LocalDateTime getAtRiskAt() {
+        return atRiskAt;
     }
 
+    public void setAtRiskAt(LocalDateTime atRiskAt) {
+        this.atRiskAt = atRiskAt;
+    }
+
+    @Override
+    public LocalDateTime getSlaPausedAt() {
+        return slaPausedAt;
+    }
+
+    public void setSlaPausedAt(LocalDateTime slaPausedAt) {
+        this.slaPausedAt = slaPausedAt;
+    }
+
+    public long getSlaPausedSeconds() {
+        return slaPausedSeconds;
+    }
+
+    public void setSlaPausedSeconds(long slaPausedSeconds) {
+        this.slaPausedSeconds = slaPausedSeconds;
+    }
+
+    @Override
     public SlaStatus getSlaStatus() {
         return slaStatus;
     }
@@ -250,4 +354,9 @@ public class Ticket {
     public LocalDateTime getLastUpdatedAt() {
         return lastUpdatedAt;
     }
+
+    @Override
+    public boolean hasManagerAssignment() {
+        return assignedByManager != null;
+    }
 }
@@ -9,7 +9,10 @@ import java.time.LocalDateTime;
 public class TicketStatusHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "history_id_gen")
+    @TableGenerator(name = "history_id_gen", table = "id_allocation",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "ticket_status_history", allocationSize = 50)
     @Column(name = "history_id")
     private Long historyId;
 
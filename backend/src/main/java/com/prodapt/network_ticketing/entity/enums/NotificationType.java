@@ -0,0 +1,9 @@
+package com.prodapt.network_ticketing.entity.enums;
+
+public enum NotificationType {
+    TICKET_ASSIGNED,
+    TICKET_RESOLVED,
+    TICKET_CLOSED,
+    SLA_WARNING,
+    SLA_BREACHED
+}
@@ -0,0 +1,7 @@
+package com.prodapt.network_ticketing.entity.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,18 @@
+package com.prodapt.network_ticketing.entity.generator;
+
+import org.hibernate.annotations.ValueGenerationType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fills the ticket reference (T-000123) from the ticket id when the ticket is persisted,
+ * so it goes out with the first INSERT instead of a follow-up UPDATE.
+ */
+@ValueGenerationType(generatedBy = TicketReferenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface TicketReference {
+}
@@ -0,0 +1,27 @@
+package com.prodapt.network_ticketing.entity.generator;
+
+import com.prodapt.network_ticketing.entity.Ticket;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+public class TicketReferenceGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        if (currentValue != null) return currentValue;
+        return format(((Ticket) owner).getTicketId());
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static String format(Long ticketId) {
+        return ticketId == null ? null : String.format("T-%06d", ticketId);
+    }
+}
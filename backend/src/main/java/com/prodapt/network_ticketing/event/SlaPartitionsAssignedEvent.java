@@ -0,0 +1,26 @@
+package com.prodapt.network_ticketing.event;
+
+import java.util.Set;
+
+/**
+ * Published by SlaPartitionLeases when this node takes over SLA partitions (at startup, or from
+ * a node that left or gave them up while rebalancing).
+ */
+public class SlaPartitionsAssignedEvent {
+
+    private final Set<Integer> partitions;
+    private final int partitionCount;
+
+    public SlaPartitionsAssignedEvent(Set<Integer> partitions, int partitionCount) {
+        this.partitions = partitions;
+        this.partitionCount = partitionCount;
+    }
+
+    public Set<Integer> getPartitions() {
+        return partitions;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+}
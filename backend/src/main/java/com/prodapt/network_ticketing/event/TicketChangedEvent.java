@@ -0,0 +1,24 @@
+package com.prodapt.network_ticketing.event;
+
+/**
+ * Published by the ticket lifecycle methods and the SLA monitor whenever a ticket is saved.
+ * before is null for a newly created ticket.
+ */
+public class TicketChangedEvent {
+
+    private final TicketSnapshot before;
+    private final TicketSnapshot after;
+
+    public TicketChangedEvent(TicketSnapshot before, TicketSnapshot after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public TicketSnapshot getBefore() {
+        return before;
+    }
+
+    public TicketSnapshot getAfter() {
+        return after;
+    }
+}
@@ -0,0 +1,131 @@
+package com.prodapt.network_ticketing.event;
+
+import com.prodapt.network_ticketing.entity.Ticket;
+import com.prodapt.network_ticketing.entity.enums.Priority;
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+import com.prodapt.network_ticketing.sla.SlaSubject;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the ticket fields that in-memory indexes care about, taken before and after a change.
+ * Listeners run after commit, so they must not read the (possibly detached) entity itself.
+ */
+public class TicketSnapshot implements SlaSubject {
+
+    private final Long ticketId;
+    private final Long engineerId;
+    private final Long categoryId;
+    private final TicketStatus status;
+    private final SlaStatus slaStatus;
+    private final Priority priority;
+    private final LocalDateTime slaStartTime;
+    private final LocalDateTime slaDueTime;
+    private final LocalDateTime atRiskAt;
+    private final LocalDateTime slaPausedAt;
+    private final boolean managerAssigned;
+
+    private TicketSnapshot(Ticket ticket) {
+        this.ticketId = ticket.getTicketId();
+        this.engineerId = ticket.getAssignedEngineer() != null ? ticket.getAssignedEngineer().getUserId() : null;
+        this.categoryId = ticket.getIssueCategory() != null ? ticket.getIssueCategory().getCategoryId() : null;
+        this.status = ticket.getStatus();
+        this.slaStatus = ticket.getSlaStatus();
+        this.priority = ticket.getPriority();
+        this.slaStartTime = ticket.getSlaStartTime();
+        this.slaDueTime = ticket.getSlaDueTime();
+        this.atRiskAt = ticket.getAtRiskAt();
+        this.slaPausedAt = ticket.getSlaPausedAt();
+        this.managerAssigned = ticket.hasManagerAssignment();
+    }
+
+    // JPQL constructor projection, used to seed in-memory indexes at startup without loading entities
+    public TicketSnapshot(Long ticketId, Long engineerId, Long categoryId, TicketStatus status, SlaStatus slaStatus,
+                          Priority priority, LocalDateTime slaStartTime, LocalDateTime slaDueTime, LocalDateTime atRiskAt,
+                          LocalDateTime slaPausedAt, Long managerId) {
+        this(ticketId, engineerId, categoryId, status, slaStatus, priority, slaStartTime, slaDueTime, atRiskAt,
+                slaPausedAt, managerId != null);
+    }
+
+    public static TicketSnapshot of(Ticket ticket) {
+        return ticket == null ? null : new TicketSnapshot(ticket);
+    }
+
+    // same ticket with a different persisted SLA status, for changes made by bulk UPDATEs
+    public TicketSnapshot withSlaStatus(SlaStatus newSlaStatus) {
+        return new TicketSnapshot(ticketId, engineerId, categoryId, status, newSlaStatus, priority,
+                slaStartTime, slaDueTime, atRiskAt, slaPausedAt, managerAssigned);
+    }
+
+    private TicketSnapshot(Long ticketId, Long engineerId, Long categoryId, TicketStatus status, SlaStatus slaStatus,
+                           Priority priority, LocalDateTime slaStartTime, LocalDateTime slaDueTime, LocalDateTime atRiskAt,
+                           LocalDateTime slaPausedAt, boolean managerAssigned) {
+        this.ticketId = ticketId;
+        this.engineerId = engineerId;
+        this.categoryId = categoryId;
+        this.status = status;
+        this.slaStatus = slaStatus;
+        this.priority = priority;
+        this.slaStartTime = slaStartTime;
+        this.slaDueTime = slaDueTime;
+        this.atRiskAt = atRiskAt;
+        this.slaPausedAt = slaPausedAt;
+        this.managerAssigned = managerAssigned;
+    }
+
+    public boolean isOpen() {
+        return status != TicketStatus.RESOLVED && status != TicketStatus.CLOSED;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public Long getEngineerId() {
+        return engineerId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    @Override
+    public TicketStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public SlaStatus getSlaStatus() {
+        return slaStatus;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    @Override
+    public LocalDateTime getSlaStartTime() {
+        return slaStartTime;
+    }
+
+    @Override
+    public LocalDateTime getSlaDueTime() {
+        return slaDueTime;
+    }
+
+    @Override
+    public LocalDateTime getAtRiskAt() {
+        return atRiskAt;
+    }
+
+    @Override
+    public LocalDateTime getSlaPausedAt() {
+        return slaPausedAt;
+    }
+
+    @Override
+    public boolean hasManagerAssignment() {
+        return managerAssigned;
+    }
+}
@@ -0,0 +1,278 @@
+package com.prodapt.network_ticketing.notification;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled email template: the source is parsed once into a tree of segments (literal text, variables and
+ * sections), so rendering is a walk over that tree appending to the caller's buffer, with no parsing per message.
+ *
+ * The syntax is a subset of Mustache:
+ *   {{name}}   value of name, HTML-escaped in HTML templates; dotted names (engineer.email) look into nested maps
+ *   {{&name}}  value of name, never escaped
+ *   {{#name}}  ... {{/name}}  rendered once per element of a collection, once for any other non-empty value
+ *   {{^name}}  ... {{/name}}  rendered if name is missing, false or empty
+ *   {{.}}      the current element inside a section
+ *   {{>name}}  partial, inlined at compile time
+ *   {{! ... }} comment
+ * A line holding nothing but a section, partial or comment tag is dropped entirely. Names are looked up in the
+ * current section element first, then in the enclosing ones, up to the model.
+ */
+public final class EmailTemplate {
+
+    private static final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final Pattern STANDALONE_TAG = Pattern.compile("(?m)^[ \\t]*(\\{\\{[#^/>!][^}]*}})[ \\t]*\\r?\\n");
+    private static final int MAX_PARTIAL_DEPTH = 10;
+
+    private final String name;
+    private final Segment[] segments;
+
+    private EmailTemplate(String name, Segment[] segments) {
+        this.name = name;
+        this.segments = segments;
+    }
+
+    /**
+     * Parses the source. Partials are looked up by name with the given function, which returns null for an
+     * unknown partial. Fails with an IllegalArgumentException naming the template on any syntax error.
+     */
+    public static EmailTemplate compile(String name, String source, boolean html, Function<String, String> partials) {
+        String expanded = expand(name, source, partials, 0);
+        return new EmailTemplate(name, new Parser(name, expanded, html).parse());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void render(Map<String, ?> model, StringBuilder out) {
+        render(segments, new Scope(model, null), out);
+    }
+
+    private static void render(Segment[] segments, Scope scope, StringBuilder out) {
+        for (Segment segment : segments) {
+            segment.render(scope, out);
+        }
+    }
+
+    private static String expand(String name, String source, Function<String, String> partials, int depth) {
+        String stripped = STANDALONE_TAG.matcher(source).replaceAll("$1");
+        if (!stripped.contains("{{>")) return stripped;
+        if (depth >= MAX_PARTIAL_DEPTH) {
+            throw new IllegalArgumentException("Template " + name + ": partials nested too deep");
+        }
+
+        StringBuilder out = new StringBuilder(stripped.length());
+        int pos = 0;
+        int open;
+        while ((open = stripped.indexOf("{{>", pos)) >= 0) {
+            int close = stripped.indexOf("}}", open);
+            if (close < 0) throw new IllegalArgumentException("Template " + name + ": unclosed tag at " + open);
+            String partialName = stripped.substring(open + 3, close).trim();
+            String partial = partials.apply(partialName);
+            if (partial == null) {
+                throw new IllegalArgumentException("Template " + name + ": unknown partial " + partialName);
+            }
+            out.append(stripped, pos, open).append(expand(name, partial, partials, depth + 1));
+            pos = close + 2;
+        }
+        return out.append(stripped, pos, stripped.length()).toString();
+    }
+
+    // 🔹 Lookup
+
+    // one level of section nesting: the element being rendered and the scope it was found in
+    private static final class Scope {
+        private final Object value;
+        private final Scope parent;
+
+        private Scope(Object value, Scope parent) {
+            this.value = value;
+            this.parent = parent;
+        }
+
+        private Object lookup(String[] path) {
+            if (path.length == 0) return value;
+
+            Object current = null;
+            for (Scope scope = this; scope != null; scope = scope.parent) {
+                if (scope.value instanceof Map<?, ?> map && map.containsKey(path[0])) {
+                    current = map.get(path[0]);
+                    break;
+                }
+            }
+            for (int i = 1; i < path.length && current != null; i++) {
+                current = current instanceof Map<?, ?> map ? map.get(path[i]) : null;
+            }
+            return current;
+        }
+    }
+
+    private static boolean isEmpty(Object value) {
+        if (value == null) return true;
+        if (value instanceof Boolean b) return !b;
+        if (value instanceof Collection<?> c) return c.isEmpty();
+        if (value instanceof CharSequence s) return s.isEmpty();
+        return false;
+    }
+
+    // 🔹 Segments
+
+    private interface Segment {
+        void render(Scope scope, StringBuilder out);
+    }
+
+    private record Text(String text) implements Segment {
+        @Override
+        public void render(Scope scope, StringBuilder out) {
+            out.append(text);
+        }
+    }
+
+    private record Variable(String[] path, boolean escape) implements Segment {
+        @Override
+        public void render(Scope scope, StringBuilder out) {
+            Object value = scope.lookup(path);
+            if (value == null) return;
+            CharSequence text = value instanceof LocalDateTime time ? timeFormatter.format(time)
+                    : value instanceof CharSequence s ? s : value.toString();
+            if (escape) {
+                escapeHtml(text, out);
+            } else {
+                out.append(text);
+            }
+        }
+    }
+
+    private record Section(String[] path, boolean inverted, Segment[] children) implements Segment {
+        @Override
+        public void render(Scope scope, StringBuilder out) {
+            Object value = scope.lookup(path);
+            if (inverted) {
+                if (isEmpty(value)) EmailTemplate.render(children, scope, out);
+            } else if (!isEmpty(value)) {
+                if (value instanceof Collection<?> items) {
+                    for (Object item : items) {
+                        EmailTemplate.render(children, new Scope(item, scope), out);
+                    }
+                } else {
+                    EmailTemplate.render(children, new Scope(value, scope), out);
+                }
+            }
+        }
+    }
+
+    // copies the runs between special characters in one append each
+    private static void escapeHtml(CharSequence text, StringBuilder out) {
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            String entity;
+            switch (text.charAt(i)) {
+                case '&' -> entity = "&amp;";
+                case '<' -> entity = "&lt;";
+                case '>' -> entity = "&gt;";
+                case '"' -> entity = "&quot;";
+                case '\'' -> entity = "&#39;";
+                default -> {
+                    continue;
+                }
+            }
+            out.append(text, start, i).append(entity);
+            start = i + 1;
+        }
+        out.append(text, start, text.length());
+    }
+
+    // 🔹 Parsing
+
+    private static final class Parser {
+        private final String name;
+        private final String source;
+        private final boolean html;
+
+        private Parser(String name, String source, boolean html) {
+            this.name = name;
+            this.source = source;
+            this.html = html;
+        }
+
+        private Segment[] parse() {
+            // open sections, innermost first; each with the segments collected so far
+            Deque<String> openNames = new ArrayDeque<>();
+            Deque<Boolean> openInverted = new ArrayDeque<>();
+            Deque<List<Segment>> openSegments = new ArrayDeque<>();
+            List<Segment> current = new ArrayList<>();
+
+            int pos = 0;
+            while (pos < source.length()) {
+                int open = source.indexOf("{{", pos);
+                if (open < 0) {
+                    current.add(new Text(source.substring(pos)));
+                    break;
+                }
+                if (open > pos) current.add(new Text(source.substring(pos, open)));
+                int close = source.indexOf("}}", open);
+                if (close < 0) throw error("unclosed tag at " + open);
+                String tag = source.substring(open + 2, close).trim();
+                pos = close + 2;
+                if (tag.isEmpty()) throw error("empty tag at " + open);
+
+                char kind = tag.charAt(0);
+                String tagName = tag.substring(1).trim();
+                switch (kind) {
+                    case '!' -> { }
+                    case '&' -> current.add(new Variable(path(tagName), false));
+                    case '#', '^' -> {
+                        openNames.push(tagName);
+                        openInverted.push(kind == '^');
+                        openSegments.push(current);
+                        current = new ArrayList<>();
+                    }
+                    case '/' -> {
+                        if (openNames.isEmpty() || !openNames.peek().equals(tagName)) {
+                            throw error("unexpected {{/" + tagName + "}}" +
+                                    (openNames.isEmpty() ? "" : ", expected {{/" + openNames.peek() + "}}"));
+                        }
+                        Segment section = new Section(path(openNames.pop()), openInverted.pop(), merge(current));
+                        current = openSegments.pop();
+                        current.add(section);
+                    }
+                    default -> current.add(new Variable(path(tag), html));
+                }
+            }
+            if (!openNames.isEmpty()) throw error("unclosed section {{#" + openNames.peek() + "}}");
+            return merge(current);
+        }
+
+        private String[] path(String tagName) {
+            if (tagName.isEmpty()) throw error("missing name in tag");
+            return tagName.equals(".") ? new String[0] : tagName.split("\\.");
+        }
+
+        // adjacent text segments left by comments become one
+        private static Segment[] merge(List<Segment> segments) {
+            List<Segment> merged = new ArrayList<>(segments.size());
+            for (Segment segment : segments) {
+                int last = merged.size() - 1;
+                if (segment instanceof Text text && last >= 0 && merged.get(last) instanceof Text previous) {
+                    merged.set(last, new Text(previous.text() + text.text()));
+                } else {
+                    merged.add(segment);
+                }
+            }
+            return merged.toArray(new Segment[0]);
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Template " + name + ": " + message);
+        }
+    }
+}
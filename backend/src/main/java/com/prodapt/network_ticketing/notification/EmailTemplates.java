@@ -0,0 +1,153 @@
+package com.prodapt.network_ticketing.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The email templates, compiled once when the service starts (see EmailTemplate). A template is a pair of files
+ * in the templates location: name.txt, whose first line is "Subject: ..." and the rest the plain-text body, and
+ * optionally name.html with the HTML body. Files starting with an underscore are partials, included with
+ * {{>_name}} from templates of the same extension.
+ *
+ * The templates are rendered into a per-thread buffer that is reused from message to message. With a file:
+ * location the files are checked every reload-ms and recompiled when one changes, so wording and layout can be
+ * changed without rebuilding or restarting the service; if the changed templates do not compile, the previous
+ * ones stay in use.
+ */
+@Component
+public class EmailTemplates {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailTemplates.class);
+    private static final String SUBJECT_PREFIX = "Subject:";
+    // a buffer that grew past this for an unusually large message is not kept for the next one
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final ResourcePatternResolver resolver;
+    private final String location;
+
+    private volatile Map<String, Template> templates;
+    private volatile Map<String, Long> lastModified;
+
+    public EmailTemplates(ResourceLoader resourceLoader,
+                         @Value("${app.notification.templates.location:classpath:/templates/email/}") String location) {
+        this.resolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+        this.location = location.endsWith("/") ? location : location + "/";
+        try {
+            Map<String, Resource> files = list();
+            this.templates = compile(files);
+            this.lastModified = lastModified(files);
+        } catch (IOException ex) {
+            throw new RuntimeException("Failed to load email templates from " + this.location + ": " + ex.getMessage(), ex);
+        }
+        log.info("Loaded {} email template(s) from {}", templates.size(), this.location);
+    }
+
+    /**
+     * Renders the named template; the result has no recipient yet (see RenderedEmail.forRecipient).
+     */
+    public RenderedEmail render(String name, Map<String, ?> model) {
+        Template template = templates.get(name);
+        if (template == null) throw new IllegalArgumentException("Unknown email template: " + name);
+
+        StringBuilder buffer = buffers.get();
+        try {
+            String subject = render(template.subject, model, buffer);
+            String text = render(template.text, model, buffer);
+            String html = template.html == null ? null : render(template.html, model, buffer);
+            return new RenderedEmail(null, subject, text, html);
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) buffers.remove();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.templates.reload-ms:30000}",
+            initialDelayString = "${app.notification.templates.reload-ms:30000}")
+    public void reloadIfChanged() {
+        if (!location.startsWith("file:")) return; // classpath templates only change with a new build
+        try {
+            Map<String, Resource> files = list();
+            Map<String, Long> modified = lastModified(files);
+            if (modified.equals(lastModified)) return;
+
+            lastModified = modified;
+            templates = compile(files);
+            log.info("Reloaded {} email template(s) from {}", templates.size(), location);
+        } catch (Exception ex) {
+            log.error("Email templates in {} not reloaded, keeping the previous ones: {}", location, ex.getMessage());
+        }
+    }
+
+    private static String render(EmailTemplate template, Map<String, ?> model, StringBuilder buffer) {
+        buffer.setLength(0);
+        template.render(model, buffer);
+        return buffer.toString();
+    }
+
+    // file name -> resource, for every .txt and .html file of the location
+    private Map<String, Resource> list() throws IOException {
+        Map<String, Resource> files = new TreeMap<>();
+        for (String pattern : new String[]{"*.txt", "*.html"}) {
+            for (Resource resource : resolver.getResources(location + pattern)) {
+                files.put(resource.getFilename(), resource);
+            }
+        }
+        return files;
+    }
+
+    private static Map<String, Long> lastModified(Map<String, Resource> files) throws IOException {
+        Map<String, Long> modified = new HashMap<>();
+        for (Map.Entry<String, Resource> file : files.entrySet()) {
+            modified.put(file.getKey(), file.getValue().lastModified());
+        }
+        return modified;
+    }
+
+    private static Map<String, Template> compile(Map<String, Resource> files) throws IOException {
+        Map<String, String> sources = new HashMap<>();
+        for (Map.Entry<String, Resource> file : files.entrySet()) {
+            sources.put(file.getKey(), StreamUtils.copyToString(file.getValue().getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        Map<String, Template> compiled = new HashMap<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            String file = source.getKey();
+            if (file.startsWith("_") || !file.endsWith(".txt")) continue;
+            String name = file.substring(0, file.length() - ".txt".length());
+
+            String text = source.getValue();
+            int newline = text.indexOf('\n');
+            if (!text.startsWith(SUBJECT_PREFIX) || newline < 0) {
+                throw new IllegalArgumentException("Template " + file + ": first line must be \"" + SUBJECT_PREFIX + " ...\"");
+            }
+            String subject = text.substring(SUBJECT_PREFIX.length(), newline).trim();
+            String body = text.substring(newline + 1);
+            body = body.replaceFirst("^\\r?\\n", ""); // blank line after the subject
+
+            String html = sources.get(name + ".html");
+            compiled.put(name, new Template(
+                    EmailTemplate.compile(file, subject, false, partial -> sources.get(partial + ".txt")),
+                    EmailTemplate.compile(file, body, false, partial -> sources.get(partial + ".txt")),
+                    html == null ? null
+                            : EmailTemplate.compile(name + ".html", html, true, partial -> sources.get(partial + ".html"))));
+        }
+        return compiled;
+    }
+
+    private record Template(EmailTemplate subject, EmailTemplate text, EmailTemplate html) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.prodapt.network_ticketing.notification;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends messages over as few SMTP sessions as possible. JavaMailSender's varargs send connects, does
+ * STARTTLS and auth once and sends every message of the call over that transport, so messages go out in
+ * groups of session-size instead of paying the handshake per message. Mail servers commonly cap the
+ * messages per connection, hence the limit.
+ *
+ * A message with an HTML body goes out as multipart/alternative with the plain text first, so clients that
+ * do not show HTML fall back to the text; one without is sent as plain text.
+ */
+@Component
+public class MailBatchSender {
+
+    private final JavaMailSender mailSender;
+    private final String fromAddress;
+    private final int sessionSize;
+
+    public MailBatchSender(JavaMailSender mailSender,
+                           @Value("${spring.mail.username:no-reply@networkticketing.local}") String fromAddress,
+                           @Value("${app.notification.mail.session-size:50}") int sessionSize) {
+        this.mailSender = mailSender;
+        this.fromAddress = fromAddress;
+        this.sessionSize = Math.max(1, sessionSize);
+    }
+
+    /**
+     * Sends all messages and returns the ones that failed with their error; every other message was accepted
+     * by the server. A failure to connect fails the whole group it was meant for, not the rest.
+     */
+    public Map<RenderedEmail, Exception> send(List<RenderedEmail> messages) {
+        Map<RenderedEmail, Exception> failed = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i += sessionSize) {
+            List<RenderedEmail> group = messages.subList(i, Math.min(i + sessionSize, messages.size()));
+
+            // failed messages are reported as the MimeMessage instances passed in
+            Map<MimeMessage, RenderedEmail> prepared = new IdentityHashMap<>();
+            List<MimeMessage> mimeMessages = new ArrayList<>(group.size());
+            for (RenderedEmail message : group) {
+                try {
+                    MimeMessage mimeMessage = toMimeMessage(message);
+                    prepared.put(mimeMessage, message);
+                    mimeMessages.add(mimeMessage);
+                } catch (Exception ex) {
+                    failed.put(message, ex); // e.g. an invalid address; the rest of the group still goes out
+                }
+            }
+            if (mimeMessages.isEmpty()) continue;
+
+            try {
+                mailSender.send(mimeMessages.toArray(new MimeMessage[0]));
+            } catch (MailSendException ex) {
+                // empty when the transport itself could not be closed cleanly
+                ex.getFailedMessages().forEach((message, error) -> failed.put(prepared.get(message), error));
+            } catch (Exception ex) {
+                // authentication: nothing of this group was sent
+                for (MimeMessage mimeMessage : mimeMessages) {
+                    failed.put(prepared.get(mimeMessage), ex);
+                }
+            }
+        }
+        return failed;
+    }
+
+    private MimeMessage toMimeMessage(RenderedEmail message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, message.getHtml() != null,
+                StandardCharsets.UTF_8.name());
+        helper.setFrom(fromAddress);
+        helper.setTo(message.getTo());
+        helper.setSubject(message.getSubject());
+        if (message.getHtml() != null) {
+            helper.setText(message.getText(), message.getHtml());
+        } else {
+            helper.setText(message.getText());
+        }
+        return mimeMessage;
+    }
+}
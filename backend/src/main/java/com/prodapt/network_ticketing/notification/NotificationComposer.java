@@ -0,0 +1,178 @@
+package com.prodapt.network_ticketing.notification;
+
+import com.prodapt.network_ticketing.entity.OutboxNotification;
+import com.prodapt.network_ticketing.entity.Ticket;
+import com.prodapt.network_ticketing.entity.User;
+import com.prodapt.network_ticketing.entity.enums.NotificationType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the ticket notifications from the email templates (see EmailTemplates): one message per recipient,
+ * subject and body fixed at the time of the change and rendered once for all recipients.
+ * Used by the outbox when a change commits.
+ */
+@Component
+public class NotificationComposer {
+
+    private final EmailTemplates templates;
+
+    public NotificationComposer(EmailTemplates templates) {
+        this.templates = templates;
+    }
+
+    public List<RenderedEmail> compose(NotificationType type, Ticket ticket) {
+        if (ticket == null) return List.of();
+        switch (type) {
+            case TICKET_ASSIGNED:
+                return assignment(ticket);
+            case TICKET_RESOLVED:
+                return resolved(ticket);
+            case TICKET_CLOSED:
+                return completion(ticket);
+            case SLA_WARNING:
+                return slaWarning(ticket);
+            case SLA_BREACHED:
+                return slaBreach(ticket);
+            default:
+                throw new IllegalArgumentException("Unknown notification type: " + type);
+        }
+    }
+
+    /**
+     * One email standing in for the given outbox rows of a recipient: a line per notification, oldest first.
+     * Identical lines (same subject, same minute) are listed once.
+     */
+    public RenderedEmail digest(String to, List<OutboxNotification> rows) {
+        Map<String, Map<String, Object>> lines = new LinkedHashMap<>();
+        Set<Long> tickets = new LinkedHashSet<>();
+        for (OutboxNotification row : rows) {
+            tickets.add(row.getTicketId());
+            LocalDateTime minute = row.getCreatedAt().truncatedTo(ChronoUnit.MINUTES);
+            Map<String, Object> line = new HashMap<>();
+            line.put("time", minute);
+            line.put("subject", row.getSubject());
+            lines.putIfAbsent(minute + " " + row.getSubject(), line);
+        }
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("notificationCount", rows.size());
+        model.put("ticketCount", tickets.size());
+        model.put("lines", new ArrayList<>(lines.values()));
+        return templates.render("sla-digest", model).forRecipient(to);
+    }
+
+    // Recipients: Assigned Engineer, Assigned Manager. Content: SLA time, assignment details
+    private List<RenderedEmail> assignment(Ticket ticket) {
+        Map<String, Object> model = model(ticket);
+        long slaMinutes = ChronoUnit.MINUTES.between(ticket.getSlaStartTime(), ticket.getSlaDueTime());
+        model.put("slaDuration", hoursAndMinutes(slaMinutes));
+
+        List<String> recipients = new ArrayList<>();
+        addEmail(recipients, ticket.getAssignedEngineer());
+        addEmail(recipients, ticket.getAssignedByManager());
+        return messages(recipients, "ticket-assigned", model);
+    }
+
+    // Recipients: Customer only, asking them to close the ticket
+    private List<RenderedEmail> resolved(Ticket ticket) {
+        List<String> recipients = new ArrayList<>();
+        addEmail(recipients, ticket.getCustomer());
+        return messages(recipients, "ticket-resolved", model(ticket));
+    }
+
+    // Recipients: Assigned Engineer, Assigned Manager, when 80% of the SLA is consumed
+    private List<RenderedEmail> slaWarning(Ticket ticket) {
+        Map<String, Object> model = model(ticket);
+        long remainingMinutes = ChronoUnit.MINUTES.between(LocalDateTime.now(), ticket.getSlaDueTime());
+        model.put("timeRemaining", hoursAndMinutes(remainingMinutes));
+
+        List<String> recipients = new ArrayList<>();
+        addEmail(recipients, ticket.getAssignedEngineer());
+        addEmail(recipients, ticket.getAssignedByManager());
+        return messages(recipients, "sla-warning", model);
+    }
+
+    // Recipients: Manager, Engineer, Customer
+    private List<RenderedEmail> slaBreach(Ticket ticket) {
+        Map<String, Object> model = model(ticket);
+        LocalDateTime now = LocalDateTime.now();
+        model.put("breachedAt", now);
+        model.put("timePastDue", hoursAndMinutes(ChronoUnit.MINUTES.between(ticket.getSlaDueTime(), now)));
+
+        List<String> recipients = new ArrayList<>();
+        addEmail(recipients, ticket.getAssignedByManager());
+        addEmail(recipients, ticket.getAssignedEngineer());
+        addEmail(recipients, ticket.getCustomer());
+        return messages(recipients, "sla-breached", model);
+    }
+
+    // Recipients: Customer only, once the customer closed the ticket
+    private List<RenderedEmail> completion(Ticket ticket) {
+        List<String> recipients = new ArrayList<>();
+        addEmail(recipients, ticket.getCustomer());
+        return messages(recipients, "ticket-closed", model(ticket));
+    }
+
+    // what every template may use; the ticket itself is not exposed, so templates cannot trigger lazy loading
+    private static Map<String, Object> model(Ticket ticket) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("reference", reference(ticket));
+        model.put("description", ticket.getDescription());
+        model.put("category", ticket.getIssueCategory() != null ? ticket.getIssueCategory().getCategoryName() : null);
+        model.put("priority", ticket.getPriority());
+        model.put("status", ticket.getStatus());
+        model.put("slaStatus", ticket.getSlaStatus());
+        model.put("slaStartTime", ticket.getSlaStartTime());
+        model.put("slaDueTime", ticket.getSlaDueTime());
+        model.put("resolutionSummary", ticket.getResolutionSummary());
+        model.put("createdAt", ticket.getCreatedAt());
+        model.put("resolvedAt", ticket.getLastUpdatedAt());
+        model.put("closedAt", ticket.getClosedAt());
+        model.put("customer", person(ticket.getCustomer()));
+        model.put("engineer", person(ticket.getAssignedEngineer()));
+        model.put("manager", person(ticket.getAssignedByManager()));
+        return model;
+    }
+
+    private static Map<String, Object> person(User user) {
+        if (user == null) return null;
+        Map<String, Object> person = new HashMap<>();
+        person.put("username", user.getUsername());
+        person.put("email", user.getEmail());
+        return person;
+    }
+
+    private static String hoursAndMinutes(long minutes) {
+        return (minutes / 60) + " hours " + (minutes % 60) + " minutes";
+    }
+
+    private List<RenderedEmail> messages(List<String> recipients, String template, Map<String, Object> model) {
+        if (recipients.isEmpty()) return List.of();
+        RenderedEmail content = templates.render(template, model);
+        List<RenderedEmail> messages = new ArrayList<>(recipients.size());
+        for (String to : recipients) {
+            messages.add(content.forRecipient(to));
+        }
+        return messages;
+    }
+
+    private static void addEmail(List<String> recipients, User user) {
+        if (user != null && user.getEmail() != null && !user.getEmail().isBlank()) {
+            recipients.add(user.getEmail());
+        }
+    }
+
+    private static String reference(Ticket ticket) {
+        return ticket.getTicketReference() != null ? ticket.getTicketReference() : "T-" + ticket.getTicketId();
+    }
+}
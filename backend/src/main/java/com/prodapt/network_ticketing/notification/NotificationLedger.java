@@ -0,0 +1,112 @@
+package com.prodapt.network_ticketing.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prodapt.network_ticketing.entity.Ticket;
+import com.prodapt.network_ticketing.entity.enums.NotificationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lets each SLA notification of a ticket be queued once per SLA window, whichever thread or node detects
+ * the transition (deadline engine, sweep, set-based sweep, a node taking over partitions).
+ *
+ * A notification is claimed by inserting (ticket, event, window start) into notification_ledger in the
+ * transaction that queues it. The unique key lets exactly one claim commit: a concurrent claim waits on the
+ * row lock and then fails as a duplicate, a rolled-back claim frees the key again. Committed claims are kept
+ * in a bounded in-memory set, so repeats on this node are turned away without a round trip.
+ *
+ * A claim is only needed while its window can still notify: the ticket is open and its SLA still starts at
+ * window_start. Claims older than the outbox retention-days whose window has ended are purged.
+ */
+@Component
+public class NotificationLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationLedger.class);
+
+    private static final String INSERT_SQL =
+            "insert into notification_ledger (ticket_id, event, window_start, created_at) values (?, ?, ?, ?)";
+
+    // closed or resolved tickets, restarted windows and deleted tickets can never claim these keys again
+    private static final String PURGE_SQL = "delete from notification_ledger where created_at < ? and not exists ("
+            + "select 1 from ticket t where t.ticket_id = notification_ledger.ticket_id "
+            + "and t.sla_start_time = notification_ledger.window_start and t.status not in ('RESOLVED', 'CLOSED'))";
+
+    private static final Set<NotificationType> ONCE_PER_WINDOW =
+            EnumSet.of(NotificationType.SLA_WARNING, NotificationType.SLA_BREACHED);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, Boolean> claimed;
+    private final Counter suppressedCounter;
+    private final int retentionDays;
+
+    public NotificationLedger(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                              @Value("${app.notification.ledger.cache-size:100000}") long cacheSize,
+                              @Value("${app.notification.outbox.retention-days:7}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.claimed = Caffeine.newBuilder().maximumSize(cacheSize).build();
+        this.suppressedCounter = meterRegistry.counter("notification.ledger.suppressed");
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Returns whether the caller may queue this notification. Always true for types that are not SLA events.
+     * Must run in the transaction that queues the notification, so the claim commits or rolls back with it.
+     */
+    public boolean claim(NotificationType event, Ticket ticket) {
+        LocalDateTime window = ticket.getSlaStartTime();
+        if (!ONCE_PER_WINDOW.contains(event) || window == null) return true;
+
+        String key = ticket.getTicketId() + ":" + event + ":" + window;
+        if (claimed.getIfPresent(key) != null) {
+            suppressedCounter.increment();
+            return false;
+        }
+        try {
+            // a duplicate key fails only this statement; the caller's transaction carries on
+            jdbcTemplate.update(INSERT_SQL, ticket.getTicketId(), event.name(), Timestamp.valueOf(window),
+                    Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException ex) {
+            rememberOnCommit(key);
+            suppressedCounter.increment();
+            return false;
+        }
+        rememberOnCommit(key);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.outbox.purge-ms:3600000}",
+            initialDelayString = "${app.notification.outbox.purge-ms:3600000}")
+    public void purge() {
+        if (retentionDays <= 0) return;
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int deleted = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(before));
+        if (deleted > 0) {
+            log.info("Purged {} notification claim(s) of ended SLA windows older than {} days", deleted, retentionDays);
+        }
+    }
+
+    // the duplicate may be this transaction's own claim, which is only final once it commits
+    private void rememberOnCommit(String key) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                claimed.put(key, Boolean.TRUE);
+            }
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.prodapt.network_ticketing.notification;
+
+import com.prodapt.network_ticketing.entity.OutboxNotification;
+import com.prodapt.network_ticketing.entity.Ticket;
+import com.prodapt.network_ticketing.entity.enums.NotificationType;
+import com.prodapt.network_ticketing.entity.enums.Priority;
+import com.prodapt.network_ticketing.repository.OutboxNotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Transactional outbox for ticket notifications. Instead of sending, callers enqueue inside the transaction
+ * that changes the ticket: the rendered messages are stored in notification_outbox with that change, so a
+ * rollback sends nothing and a crash after the commit loses nothing. The OutboxDispatcher delivers them.
+ *
+ * Notifications of the digest types are marked for the recipient's digest (see OutboxDispatcher) unless the
+ * ticket's priority is one of the bypass priorities; a digest window of 0 sends everything on its own.
+ */
+@Component
+public class NotificationOutbox {
+
+    private final OutboxNotificationRepository repository;
+    private final NotificationComposer composer;
+    private final OutboxDispatcher dispatcher;
+    private final NotificationLedger ledger;
+    private final Set<NotificationType> digestTypes;
+    private final Set<Priority> bypassPriorities;
+
+    public NotificationOutbox(OutboxNotificationRepository repository, NotificationComposer composer,
+                              OutboxDispatcher dispatcher, NotificationLedger ledger,
+                              @Value("${app.notification.digest.window-ms:120000}") long digestWindowMs,
+                              @Value("${app.notification.digest.types:SLA_WARNING,SLA_BREACHED}") String digestTypes,
+                              @Value("${app.notification.digest.bypass-priorities:}") String bypassPriorities) {
+        this.repository = repository;
+        this.composer = composer;
+        this.dispatcher = dispatcher;
+        this.ledger = ledger;
+        this.digestTypes = digestWindowMs > 0 ? parse(digestTypes, NotificationType.class) : EnumSet.noneOf(NotificationType.class);
+        this.bypassPriorities = parse(bypassPriorities, Priority.class);
+    }
+
+    /**
+     * Renders the notification now, as of the ticket's current state, and stores one row per recipient.
+     * SLA notifications already queued for the ticket's current SLA window are dropped (see NotificationLedger).
+     * Must run inside the caller's transaction; unless it waits for a digest the dispatcher is woken up once it commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(NotificationType type, Ticket ticket) {
+        if (!ledger.claim(type, ticket)) return;
+
+        List<RenderedEmail> messages = composer.compose(type, ticket);
+        if (messages.isEmpty()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean digest = digestTypes.contains(type) && !bypassPriorities.contains(ticket.getPriority());
+        List<OutboxNotification> rows = new ArrayList<>(messages.size());
+        for (RenderedEmail msg : messages) {
+            rows.add(new OutboxNotification(type, ticket.getTicketId(), msg.getTo(), msg.getSubject(), msg.getText(),
+                    msg.getHtml(), digest, now));
+        }
+        repository.saveAll(rows);
+        if (digest) return; // picked up by the dispatcher's poll once the window has passed
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.wakeUp();
+            }
+        });
+    }
+
+    // comma separated enum names, e.g. SLA_WARNING,SLA_BREACHED
+    private static <E extends Enum<E>> Set<E> parse(String names, Class<E> type) {
+        Set<E> values = EnumSet.noneOf(type);
+        Arrays.stream(names.split(",")).map(String::trim).filter(name -> !name.isEmpty())
+                .forEach(name -> values.add(Enum.valueOf(type, name.toUpperCase())));
+        return values;
+    }
+}
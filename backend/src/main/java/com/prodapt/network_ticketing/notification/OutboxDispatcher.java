@@ -0,0 +1,269 @@
+package com.prodapt.network_ticketing.notification;
+
+import com.prodapt.network_ticketing.entity.OutboxNotification;
+import com.prodapt.network_ticketing.entity.enums.OutboxStatus;
+import com.prodapt.network_ticketing.repository.OutboxNotificationRepository;
+import com.prodapt.network_ticketing.sla.SlaPartitionLeases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the outbox: reads due PENDING rows in id order, batch-size at a time, sends them outside any
+ * transaction over shared SMTP sessions (see MailBatchSender) and marks the sent ones in one UPDATE per batch.
+ * A commit that queued mail starts a drain flush-ms later, so the mail of a burst of changes goes out together.
+ *
+ * Digest rows (see NotificationOutbox) are held back per recipient until the oldest of them has waited
+ * digest window-ms, then all of that recipient's due digest rows, up to digest max-items, go out as one email.
+ * An outage that moves hundreds of tickets to AT_RISK or BREACHED thus costs one email per recipient and window.
+ * With several instances each sends its own digest for the tickets of its partitions.
+ *
+ * A failed send is retried with exponential backoff (backoff-ms, doubling, capped at max-backoff-ms) and given
+ * up as FAILED after max-attempts. A batch in which nothing could be sent ends the run, so an SMTP outage costs
+ * one batch of timeouts per poll instead of a pass over the whole backlog. Delivery is at-least-once: a crash
+ * between sending and marking sends that batch again after the restart.
+ *
+ * Each node only delivers the rows of the tickets in its SLA partitions (see SlaPartitionLeases), so two
+ * instances never send the same row concurrently.
+ *
+ * The table is the queue, so a breach storm grows rows, not memory or threads: one outbox thread holds at most
+ * batch-size rows at a time. Its backlog is exported as notification.outbox.pending (PENDING rows, counted after
+ * each drain) and the time from queueing to delivery as notification.send.latency.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxNotificationRepository repository;
+    private final NotificationComposer composer;
+    private final MailBatchSender mailBatchSender;
+    private final SlaPartitionLeases partitionLeases;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long flushMs;
+    private final long digestWindowMs;
+    private final int digestMaxItems;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final int retentionDays;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter digestCounter;
+    private final Timer sendLatency;
+    private final AtomicLong pendingDepth;
+
+    // one drain at a time; wake-ups before a scheduled drain starts collapse into it
+    private final ScheduledExecutorService worker =
+            Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "notification-outbox"));
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    public OutboxDispatcher(OutboxNotificationRepository repository, NotificationComposer composer,
+                            MailBatchSender mailBatchSender, SlaPartitionLeases partitionLeases,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                            @Value("${app.notification.outbox.batch-size:100}") int batchSize,
+                            @Value("${app.notification.outbox.flush-ms:200}") long flushMs,
+                            @Value("${app.notification.digest.window-ms:120000}") long digestWindowMs,
+                            @Value("${app.notification.digest.max-items:200}") int digestMaxItems,
+                            @Value("${app.notification.outbox.max-attempts:8}") int maxAttempts,
+                            @Value("${app.notification.outbox.backoff-ms:30000}") long backoffMs,
+                            @Value("${app.notification.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                            @Value("${app.notification.outbox.retention-days:7}") int retentionDays) {
+        this.repository = repository;
+        this.composer = composer;
+        this.mailBatchSender = mailBatchSender;
+        this.partitionLeases = partitionLeases;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushMs = Math.max(0, flushMs);
+        this.digestWindowMs = Math.max(0, digestWindowMs);
+        this.digestMaxItems = Math.max(1, digestMaxItems);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.retentionDays = retentionDays;
+        this.sentCounter = meterRegistry.counter("notification.outbox.sent");
+        this.retriedCounter = meterRegistry.counter("notification.outbox.retried");
+        this.failedCounter = meterRegistry.counter("notification.outbox.failed");
+        this.digestCounter = meterRegistry.counter("notification.outbox.digests");
+        this.sendLatency = meterRegistry.timer("notification.send.latency");
+        this.pendingDepth = meterRegistry.gauge("notification.outbox.pending", new AtomicLong());
+    }
+
+    // fallback for wake-ups lost to a crash or made on another node, and the clock for retries
+    @Scheduled(fixedDelayString = "${app.notification.outbox.poll-ms:2000}")
+    public void poll() {
+        schedule(0);
+    }
+
+    /**
+     * Schedules a drain on the outbox thread flush-ms from now unless one is already pending.
+     * Called after each commit that enqueued mail.
+     */
+    public void wakeUp() {
+        schedule(flushMs);
+    }
+
+    private void schedule(long delayMs) {
+        if (!drainScheduled.compareAndSet(false, true)) return;
+        worker.schedule(() -> {
+            drainScheduled.set(false);
+            drain();
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.outbox.purge-ms:3600000}",
+            initialDelayString = "${app.notification.outbox.purge-ms:3600000}")
+    public void purge() {
+        if (retentionDays <= 0) return;
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteSentBefore(before));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} sent notification(s) older than {} days", deleted, retentionDays);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            Set<Integer> owned = partitionLeases.ownedPartitions();
+            if (owned.isEmpty()) return;
+            int partitions = partitionLeases.partitionCount();
+            sendDigests(partitions, owned);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                List<OutboxNotification> due = repository.findDue(LocalDateTime.now(), partitions, owned, Limit.of(batchSize));
+                if (due.isEmpty()) return;
+
+                List<RenderedEmail> messages = new ArrayList<>(due.size());
+                for (OutboxNotification row : due) {
+                    messages.add(new RenderedEmail(row.getRecipient(), row.getSubject(), row.getBody(), row.getHtmlBody()));
+                }
+                Map<RenderedEmail, Exception> failed = mailBatchSender.send(messages);
+
+                List<OutboxNotification> sent = new ArrayList<>(due.size());
+                for (int i = 0; i < due.size(); i++) {
+                    Exception error = failed.get(messages.get(i));
+                    if (error == null) {
+                        sent.add(due.get(i));
+                    } else {
+                        recordFailure(due.get(i), error);
+                    }
+                }
+                markSent(sent);
+                if (sent.isEmpty() || due.size() < batchSize) return;
+            }
+        } catch (Exception ex) {
+            log.error("Notification outbox dispatch failed: {}", ex.getMessage());
+        } finally {
+            updatePendingDepth();
+        }
+    }
+
+    // one pass of up to batch-size recipients per drain; the rest wait for the next poll
+    private void sendDigests(int partitions, Set<Integer> owned) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusNanos(TimeUnit.MILLISECONDS.toNanos(digestWindowMs));
+        List<String> recipients = repository.findDigestRecipients(now, cutoff, partitions, owned, Limit.of(batchSize));
+        if (recipients.isEmpty()) return;
+
+        List<RenderedEmail> digests = new ArrayList<>(recipients.size());
+        List<List<OutboxNotification>> digestRows = new ArrayList<>(recipients.size());
+        for (String recipient : recipients) {
+            List<OutboxNotification> rows = repository.findDueDigest(recipient, now, partitions, owned,
+                    Limit.of(digestMaxItems));
+            if (rows.isEmpty()) continue;
+            digests.add(composer.digest(recipient, rows));
+            digestRows.add(rows);
+        }
+        Map<RenderedEmail, Exception> failed = mailBatchSender.send(digests);
+
+        List<OutboxNotification> sent = new ArrayList<>();
+        for (int i = 0; i < digests.size(); i++) {
+            Exception error = failed.get(digests.get(i));
+            if (error == null) {
+                sent.addAll(digestRows.get(i));
+                digestCounter.increment();
+            } else {
+                digestRows.get(i).forEach(row -> recordFailure(row, error));
+            }
+        }
+        markSent(sent);
+    }
+
+    private void markSent(List<OutboxNotification> rows) {
+        if (rows.isEmpty()) return;
+        LocalDateTime sentAt = LocalDateTime.now();
+        List<Long> ids = rows.stream().map(OutboxNotification::getOutboxId).toList();
+        transactionTemplate.executeWithoutResult(status -> repository.markSent(ids, sentAt));
+        sentCounter.increment(rows.size());
+        for (OutboxNotification row : rows) {
+            if (row.getCreatedAt() != null) sendLatency.record(Duration.between(row.getCreatedAt(), sentAt));
+        }
+    }
+
+    private void updatePendingDepth() {
+        try {
+            pendingDepth.set(repository.countByStatus(OutboxStatus.PENDING));
+        } catch (Exception ex) {
+            log.warn("Could not count pending notifications: {}", ex.getMessage());
+        }
+    }
+
+    private void recordFailure(OutboxNotification row, Exception ex) {
+        int attempt = row.getAttempts() + 1;
+        boolean giveUp = attempt >= maxAttempts;
+        LocalDateTime next = LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(backoff(attempt)));
+        String error = ex.getMessage() == null ? ex.getClass().getName() : ex.getMessage();
+        if (error.length() > MAX_ERROR_LENGTH) error = error.substring(0, MAX_ERROR_LENGTH);
+
+        String lastError = error;
+        transactionTemplate.executeWithoutResult(status -> repository.markFailedAttempt(row.getOutboxId(),
+                giveUp ? OutboxStatus.FAILED : OutboxStatus.PENDING, next, lastError));
+
+        if (giveUp) {
+            failedCounter.increment();
+            log.error("Giving up on {} notification {} for ticket {} to {} after {} attempts: {}",
+                    row.getType(), row.getOutboxId(), row.getTicketId(), row.getRecipient(), attempt, error);
+        } else {
+            retriedCounter.increment();
+            log.warn("Sending {} notification {} to {} failed (attempt {}), retrying at {}: {}",
+                    row.getType(), row.getOutboxId(), row.getRecipient(), attempt, next, error);
+        }
+    }
+
+    // backoff-ms, 2x, 4x, ... per attempt, capped at max-backoff-ms
+    private long backoff(int attempt) {
+        long delay = backoffMs << Math.min(attempt - 1, 30);
+        return delay < 0 ? maxBackoffMs : Math.min(delay, maxBackoffMs);
+    }
+}
@@ -0,0 +1,43 @@
+package com.prodapt.network_ticketing.notification;
+
+/**
+ * A rendered email: subject, plain-text body and, if the template has an HTML variant, the HTML body.
+ * Sent as multipart/alternative when there is an HTML body, as plain text otherwise (see MailBatchSender).
+ */
+public class RenderedEmail {
+
+    private final String to;
+    private final String subject;
+    private final String text;
+    private final String html;
+
+    public RenderedEmail(String to, String subject, String text, String html) {
+        this.to = to;
+        this.subject = subject;
+        this.text = text;
+        this.html = html;
+    }
+
+    /**
+     * The same content for another recipient; every recipient of a notification shares one rendering.
+     */
+    public RenderedEmail forRecipient(String to) {
+        return new RenderedEmail(to, subject, text, html);
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getHtml() {
+        return html;
+    }
+}
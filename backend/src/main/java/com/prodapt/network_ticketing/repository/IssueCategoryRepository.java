@@ -3,5 +3,9 @@ package com.prodapt.network_ticketing.repository;
 import com.prodapt.network_ticketing.entity.IssueCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface IssueCategoryRepository extends JpaRepository<IssueCategory, Long> {
+
+    List<IssueCategory> findBySlaCalendarId(Long slaCalendarId);
 }
@@ -0,0 +1,59 @@
+package com.prodapt.network_ticketing.repository;
+
+import com.prodapt.network_ticketing.entity.OutboxNotification;
+import com.prodapt.network_ticketing.entity.enums.OutboxStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxNotificationRepository extends JpaRepository<OutboxNotification, Long> {
+
+    String DUE = "o.status = com.prodapt.network_ticketing.entity.enums.OutboxStatus.PENDING "
+            + "and o.nextAttemptAt <= :now "
+            + "and mod(o.ticketId, :partitions) in :owned ";
+
+    // Dispatcher poll: oldest due rows of the tickets in this node's partitions (see TicketRepository.IN_OWNED_PARTITIONS)
+    @Query("select o from OutboxNotification o where " + DUE + "and o.digest = false order by o.outboxId")
+    List<OutboxNotification> findDue(@Param("now") LocalDateTime now, @Param("partitions") int partitions,
+                                     @Param("owned") Collection<Integer> owned, Limit limit);
+
+    // Recipients whose oldest waiting digest row was queued at or before the cutoff, longest waiting first
+    @Query("select o.recipient from OutboxNotification o where " + DUE + "and o.digest = true "
+            + "group by o.recipient having min(o.createdAt) <= :cutoff order by min(o.createdAt)")
+    List<String> findDigestRecipients(@Param("now") LocalDateTime now, @Param("cutoff") LocalDateTime cutoff,
+                                      @Param("partitions") int partitions, @Param("owned") Collection<Integer> owned,
+                                      Limit limit);
+
+    @Query("select o from OutboxNotification o where " + DUE + "and o.digest = true and o.recipient = :recipient "
+            + "order by o.outboxId")
+    List<OutboxNotification> findDueDigest(@Param("recipient") String recipient, @Param("now") LocalDateTime now,
+                                           @Param("partitions") int partitions,
+                                           @Param("owned") Collection<Integer> owned, Limit limit);
+
+    @Modifying
+    @Query("update OutboxNotification o "
+            + "set o.status = com.prodapt.network_ticketing.entity.enums.OutboxStatus.SENT, "
+            + "o.sentAt = :now, o.attempts = o.attempts + 1, o.lastError = null "
+            + "where o.outboxId in :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update OutboxNotification o "
+            + "set o.status = :status, o.attempts = o.attempts + 1, o.nextAttemptAt = :nextAttemptAt, o.lastError = :error "
+            + "where o.outboxId = :id")
+    int markFailedAttempt(@Param("id") Long id, @Param("status") OutboxStatus status,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("delete from OutboxNotification o "
+            + "where o.status = com.prodapt.network_ticketing.entity.enums.OutboxStatus.SENT and o.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+
+    long countByStatus(OutboxStatus status);
+}
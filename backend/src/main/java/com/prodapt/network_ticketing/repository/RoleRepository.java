@@ -1,11 +1,21 @@
 package com.prodapt.network_ticketing.repository;
 
+import com.prodapt.network_ticketing.config.CacheConfig;
 import com.prodapt.network_ticketing.entity.Role;
 import com.prodapt.network_ticketing.entity.enums.RoleName;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
+
+    // roles are fixed reference data; a missing role is not cached so the seeder can create it
+    @Cacheable(cacheNames = CacheConfig.ROLES, unless = "#result == null")
     Optional<Role> findByRoleName(RoleName roleName);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
+    <S extends Role> S save(S role);
 }
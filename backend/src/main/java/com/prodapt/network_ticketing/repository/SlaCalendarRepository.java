@@ -0,0 +1,7 @@
+package com.prodapt.network_ticketing.repository;
+
+import com.prodapt.network_ticketing.entity.SlaCalendar;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SlaCalendarRepository extends JpaRepository<SlaCalendar, Long> {
+}
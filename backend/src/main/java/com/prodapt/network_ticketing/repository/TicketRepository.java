@@ -1,21 +1,232 @@
 package com.prodapt.network_ticketing.repository;
 
+import com.prodapt.network_ticketing.dto.EngineerLoad;
+import com.prodapt.network_ticketing.dto.TicketSummary;
 import com.prodapt.network_ticketing.entity.Ticket;
 import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+import com.prodapt.network_ticketing.event.TicketSnapshot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketRepositoryCustom {
+
+    // Lean list projection: one query, no entity graph, TEXT columns cut to a preview
+    String SUMMARY_SELECT = "select new com.prodapt.network_ticketing.dto.TicketSummary("
+            + "t.ticketId, t.ticketReference, substring(t.description, 1, " + TicketSummary.DESCRIPTION_PREVIEW_LENGTH + "), "
+            + "t.status, t.priority, t.slaStatus, t.slaStartTime, t.slaDueTime, t.atRiskAt, t.slaPausedAt, t.createdAt, t.lastUpdatedAt, "
+            + "c.userId, c.name, c.username, e.userId, e.name, e.username, m.userId, m.name, m.username, "
+            + "cat.categoryId, cat.categoryName) "
+            + "from Ticket t join t.customer c left join t.assignedEngineer e "
+            + "left join t.assignedByManager m join t.issueCategory cat ";
 
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
     // Customer view
-    List<Ticket> findByCustomer_UserId(Long customerId);
+    @Query(SUMMARY_SELECT + "where c.userId = :customerId order by t.ticketId desc")
+    List<TicketSummary> findSummariesByCustomer(@Param("customerId") Long customerId);
 
     // Engineer view (assigned tickets)
-    List<Ticket> findByAssignedEngineer_UserId(Long engineerId);
+    @Query(SUMMARY_SELECT + "where e.userId = :engineerId order by t.ticketId desc")
+    List<TicketSummary> findSummariesByEngineer(@Param("engineerId") Long engineerId);
+
+    // newest tickets only; listings page through TicketRepositoryCustom.searchSummaries
+    @Query(SUMMARY_SELECT + "order by t.ticketId desc")
+    List<TicketSummary> findAllSummaries(Limit limit);
+
+    // Engineer work queue branches, most urgent first (BREACHED > AT_RISK > ON_TRACK, then HIGH > MEDIUM > LOW,
+    // then earliest due). Each is an equality prefix of idx_ticket_queue or idx_ticket_queue_any followed by the
+    // order columns, so MySQL reads the first rows of the index range and stops at the LIMIT instead of sorting
+    // the whole backlog; TicketServiceImpl.getEngineerQueue merges them.
+    String QUEUE_ORDER = "order by t.slaRank, t.priorityRank, t.slaDueTime";
+
+    @Query(SUMMARY_SELECT + "where t.status = :status " + QUEUE_ORDER)
+    List<TicketSummary> findQueueByStatus(@Param("status") TicketStatus status, Limit limit);
+
+    @Query(SUMMARY_SELECT + "where t.status = :status and t.assignedEngineerId = :engineerId " + QUEUE_ORDER)
+    List<TicketSummary> findQueueByStatusAndEngineer(@Param("status") TicketStatus status,
+                                                     @Param("engineerId") Long engineerId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "where t.status = :status and t.assignedEngineerId is null " + QUEUE_ORDER)
+    List<TicketSummary> findQueueByStatusUnassigned(@Param("status") TicketStatus status, Limit limit);
+
+    // Engineer load index rebuild: open workload of every engineer in one round trip
+    @Query("select new com.prodapt.network_ticketing.dto.EngineerLoad(t.assignedEngineer.userId, count(t), "
+            + "sum(case when t.slaStatus = com.prodapt.network_ticketing.entity.enums.SlaStatus.AT_RISK then 1 else 0 end), "
+            + "sum(case when t.slaStatus = com.prodapt.network_ticketing.entity.enums.SlaStatus.BREACHED then 1 else 0 end), "
+            + "sum(case when t.priority = com.prodapt.network_ticketing.entity.enums.Priority.HIGH then 1 else 0 end)) "
+            + "from Ticket t "
+            + "where t.assignedEngineer is not null "
+            + "and t.status not in (com.prodapt.network_ticketing.entity.enums.TicketStatus.RESOLVED, "
+            + "    com.prodapt.network_ticketing.entity.enums.TicketStatus.CLOSED) "
+            + "group by t.assignedEngineer.userId")
+    List<EngineerLoad> aggregateOpenLoadByEngineer();
+
+    String SNAPSHOT_SELECT = "select new com.prodapt.network_ticketing.event.TicketSnapshot(t.ticketId, e.userId, "
+            + "c.categoryId, t.status, t.slaStatus, t.priority, t.slaStartTime, t.slaDueTime, t.atRiskAt, t.slaPausedAt, "
+            + "m.userId) "
+            + "from Ticket t left join t.assignedEngineer e left join t.issueCategory c left join t.assignedByManager m ";
+
+    // SLA deadline engine seed: the clock fields of every open ticket, no entities loaded
+    @Query(SNAPSHOT_SELECT
+            + "where t.status not in (com.prodapt.network_ticketing.entity.enums.TicketStatus.RESOLVED, "
+            + "    com.prodapt.network_ticketing.entity.enums.TicketStatus.CLOSED)")
+    List<TicketSnapshot> findOpenSnapshots();
+
+    // the same for the partitions a node just took over
+    @Query(SNAPSHOT_SELECT
+            + "where t.status not in (com.prodapt.network_ticketing.entity.enums.TicketStatus.RESOLVED, "
+            + "    com.prodapt.network_ticketing.entity.enums.TicketStatus.CLOSED) "
+            + IN_OWNED_PARTITIONS)
+    List<TicketSnapshot> findOpenSnapshotsInPartitions(@Param("partitions") int partitions,
+                                                       @Param("owned") Collection<Integer> owned);
+
+    @Query(SNAPSHOT_SELECT + "where t.ticketId in :ids")
+    List<TicketSnapshot> findSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Detail view: the whole graph in one join-fetch query
+    @Query("select t from Ticket t "
+            + "join fetch t.customer c join fetch c.role "
+            + "left join fetch t.assignedEngineer e left join fetch e.role "
+            + "left join fetch t.assignedByManager m left join fetch m.role "
+            + "join fetch t.issueCategory "
+            + "where t.ticketId = :ticketId")
+    Optional<Ticket> findDetailById(@Param("ticketId") Long ticketId);
 
     // Engineer view (tickets available to pick)
     List<Ticket> findByStatus(String status);
 
     List<Ticket> findByStatusNot(TicketStatus status);
 
+    // Restricts SLA processing to the partitions this node leases (see SlaPartitionLeases); partitions = 1, owned = [0] is everything
+    String IN_OWNED_PARTITIONS = "and mod(t.ticketId, :partitions) in :owned ";
+
+    // SLA sweep: next chunk of open tickets after the given id, with the graph the alerts need
+    @Query("select t from Ticket t "
+            + "join fetch t.customer left join fetch t.assignedEngineer left join fetch t.assignedByManager "
+            + "join fetch t.issueCategory "
+            + "where t.ticketId > :afterId "
+            + "and t.status not in (com.prodapt.network_ticketing.entity.enums.TicketStatus.RESOLVED, "
+            + "    com.prodapt.network_ticketing.entity.enums.TicketStatus.CLOSED) "
+            + IN_OWNED_PARTITIONS
+            + "order by t.ticketId")
+    List<Ticket> findOpenChunkAfter(@Param("afterId") Long afterId, @Param("partitions") int partitions,
+                                    @Param("owned") Collection<Integer> owned, Limit limit);
+
+    // ================= SET-BASED SLA TRANSITIONS =================
+    // The SQL form of SlaCalculator: the clock runs for open tickets that a manager assigned or that are in progress,
+    // and not while they are on hold.
+
+    String SLA_CLOCK_RUNNING = "t.status not in (com.prodapt.network_ticketing.entity.enums.TicketStatus.RESOLVED, "
+            + "    com.prodapt.network_ticketing.entity.enums.TicketStatus.CLOSED) "
+            + "and (t.assignedByManager is not null "
+            + "    or t.status = com.prodapt.network_ticketing.entity.enums.TicketStatus.IN_PROGRESS) "
+            + "and t.slaPausedAt is null ";
+
+    // SLA breach forecast seed: [categoryId, engineerId, year, month, day, hour, count] of tickets still heading
+    // for a breach, per hour they fall due in from :from on
+    @Query("select c.categoryId, e.userId, year(t.slaDueTime), month(t.slaDueTime), day(t.slaDueTime), "
+            + "hour(t.slaDueTime), count(t) "
+            + "from Ticket t left join t.assignedEngineer e left join t.issueCategory c where " + SLA_CLOCK_RUNNING
+            + "and (t.slaStatus is null or t.slaStatus <> com.prodapt.network_ticketing.entity.enums.SlaStatus.BREACHED) "
+            + "and t.slaDueTime >= :from "
+            + "group by c.categoryId, e.userId, year(t.slaDueTime), month(t.slaDueTime), day(t.slaDueTime), hour(t.slaDueTime)")
+    List<Object[]> countHeadingForBreachByDueHour(@Param("from") LocalDateTime from);
+
+    // [ticketId, slaStatus] of tickets past their due time that are not yet BREACHED, row-locked
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.ticketId, t.slaStatus from Ticket t where " + SLA_CLOCK_RUNNING
+            + "and (t.slaStatus is null or t.slaStatus <> com.prodapt.network_ticketing.entity.enums.SlaStatus.BREACHED) "
+            + "and t.slaDueTime < :now " + IN_OWNED_PARTITIONS)
+    List<Object[]> lockBreachCandidates(@Param("now") LocalDateTime now, @Param("partitions") int partitions,
+                                        @Param("owned") Collection<Integer> owned);
+
+    // [ticketId, slaStatus] of ON_TRACK tickets past their persisted 80% point, row-locked
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.ticketId, t.slaStatus from Ticket t where " + SLA_CLOCK_RUNNING
+            + "and (t.slaStatus is null or t.slaStatus = com.prodapt.network_ticketing.entity.enums.SlaStatus.ON_TRACK) "
+            + "and t.slaDueTime >= :now "
+            + "and t.atRiskAt <= :now " + IN_OWNED_PARTITIONS)
+    List<Object[]> lockAtRiskCandidates(@Param("now") LocalDateTime now, @Param("partitions") int partitions,
+                                        @Param("owned") Collection<Integer> owned);
+
+    // Upcoming SLA events: range scans on (status, at_risk_at) and (status, sla_due_time)
+    String OPEN_STATUS_IN = "t.status in (com.prodapt.network_ticketing.entity.enums.TicketStatus.NEW, "
+            + "    com.prodapt.network_ticketing.entity.enums.TicketStatus.ASSIGNED, "
+            + "    com.prodapt.network_ticketing.entity.enums.TicketStatus.IN_PROGRESS, "
+            + "    com.prodapt.network_ticketing.entity.enums.TicketStatus.ON_HOLD, "
+            + "    com.prodapt.network_ticketing.entity.enums.TicketStatus.REOPENED) ";
+
+    @Query(SUMMARY_SELECT + "where " + OPEN_STATUS_IN
+            + "and t.atRiskAt > :from and t.atRiskAt <= :until "
+            + "and (m.userId is not null or t.status = com.prodapt.network_ticketing.entity.enums.TicketStatus.IN_PROGRESS) "
+            + "and t.slaPausedAt is null "
+            + "and (t.slaStatus is null or t.slaStatus = com.prodapt.network_ticketing.entity.enums.SlaStatus.ON_TRACK) "
+            + "order by t.atRiskAt")
+    List<TicketSummary> findTurningAtRiskBetween(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until,
+                                                 Limit limit);
+
+    @Query(SUMMARY_SELECT + "where " + OPEN_STATUS_IN
+            + "and t.slaDueTime > :from and t.slaDueTime <= :until "
+            + "and (m.userId is not null or t.status = com.prodapt.network_ticketing.entity.enums.TicketStatus.IN_PROGRESS) "
+            + "and t.slaPausedAt is null "
+            + "and (t.slaStatus is null or t.slaStatus <> com.prodapt.network_ticketing.entity.enums.SlaStatus.BREACHED) "
+            + "order by t.slaDueTime")
+    List<TicketSummary> findDueBetween(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until,
+                                       Limit limit);
+
+    @Modifying
+    @Query("update Ticket t set t.slaStatus = com.prodapt.network_ticketing.entity.enums.SlaStatus.BREACHED, "
+            + "t.slaAlertSent = true, t.lastUpdatedAt = :now where t.ticketId in :ids")
+    int markBreached(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Ticket t set t.slaStatus = com.prodapt.network_ticketing.entity.enums.SlaStatus.AT_RISK, "
+            + "t.lastUpdatedAt = :now where t.ticketId in :ids")
+    int markAtRisk(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // ================= SLA RECALCULATION =================
+    // Open, not yet breached tickets of a category get a new SLA window when its slaHours or calendar change.
+
+    String RECALCULATION_TARGET = "t.issueCategory.categoryId = :categoryId "
+            + "and t.status not in (com.prodapt.network_ticketing.entity.enums.TicketStatus.RESOLVED, "
+            + "    com.prodapt.network_ticketing.entity.enums.TicketStatus.CLOSED) "
+            + "and (t.slaStatus is null or t.slaStatus <> com.prodapt.network_ticketing.entity.enums.SlaStatus.BREACHED) ";
+
+    @Query("select count(t) from Ticket t where " + RECALCULATION_TARGET)
+    long countRecalculationTargets(@Param("categoryId") Long categoryId);
+
+    @Query("select t.ticketId from Ticket t where " + RECALCULATION_TARGET + "and t.ticketId > :afterId order by t.ticketId")
+    List<Long> findRecalculationTargetsAfter(@Param("categoryId") Long categoryId, @Param("afterId") Long afterId,
+                                             Limit limit);
+
+    // 24x7 window of slaSeconds from the start, plus the finished pauses. A ticket that was AT_RISK only
+    // because of the old window goes back to ON_TRACK; upgrades are left to the monitor, which sends the alerts.
+    @Modifying
+    @Query("update Ticket t set "
+            + "t.slaDueTime = t.slaStartTime + (:slaSeconds + t.slaPausedSeconds) second, "
+            + "t.atRiskAt = t.slaStartTime + (:atRiskSeconds + t.slaPausedSeconds) second, "
+            + "t.slaStatus = case when t.slaStatus = com.prodapt.network_ticketing.entity.enums.SlaStatus.AT_RISK "
+            + "    and t.slaStartTime + (:atRiskSeconds + t.slaPausedSeconds) second > :now "
+            + "    then com.prodapt.network_ticketing.entity.enums.SlaStatus.ON_TRACK else t.slaStatus end, "
+            + "t.lastUpdatedAt = :now "
+            + "where t.ticketId in :ids and " + RECALCULATION_TARGET)
+    int recalculateWindow(@Param("ids") Collection<Long> ids, @Param("categoryId") Long categoryId,
+                          @Param("slaSeconds") long slaSeconds, @Param("atRiskSeconds") long atRiskSeconds,
+                          @Param("now") LocalDateTime now);
+
+    // alerting view of the tickets a set-based transition touched
+    @Query("select t from Ticket t "
+            + "join fetch t.customer left join fetch t.assignedEngineer left join fetch t.assignedByManager "
+            + "join fetch t.issueCategory "
+            + "where t.ticketId in :ids")
+    List<Ticket> findWithContactsByIdIn(@Param("ids") Collection<Long> ids);
+
 }
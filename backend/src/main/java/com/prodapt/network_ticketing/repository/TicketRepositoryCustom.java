@@ -0,0 +1,14 @@
+package com.prodapt.network_ticketing.repository;
+
+import com.prodapt.network_ticketing.dto.TicketSearchCriteria;
+import com.prodapt.network_ticketing.dto.TicketSummary;
+
+import java.util.List;
+
+public interface TicketRepositoryCustom {
+
+    /**
+     * Keyset page of ticket summaries, newest first, strictly after {@code cursor} when given.
+     */
+    List<TicketSummary> searchSummaries(TicketSearchCriteria criteria, Long cursor, int limit);
+}
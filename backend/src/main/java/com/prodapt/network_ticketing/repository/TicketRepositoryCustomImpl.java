@@ -0,0 +1,51 @@
+package com.prodapt.network_ticketing.repository;
+
+import com.prodapt.network_ticketing.dto.TicketSearchCriteria;
+import com.prodapt.network_ticketing.dto.TicketSummary;
+import com.prodapt.network_ticketing.entity.IssueCategory;
+import com.prodapt.network_ticketing.entity.Ticket;
+import com.prodapt.network_ticketing.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+
+import java.util.List;
+
+public class TicketRepositoryCustomImpl implements TicketRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TicketSummary> searchSummaries(TicketSearchCriteria criteria, Long cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketSummary> cq = cb.createQuery(TicketSummary.class);
+        Root<Ticket> t = cq.from(Ticket.class);
+        Join<Ticket, User> c = t.join("customer");
+        Join<Ticket, User> e = t.join("assignedEngineer", JoinType.LEFT);
+        Join<Ticket, User> m = t.join("assignedByManager", JoinType.LEFT);
+        Join<Ticket, IssueCategory> cat = t.join("issueCategory");
+
+        // same shape as TicketRepository.SUMMARY_SELECT
+        cq.select(cb.construct(TicketSummary.class,
+                t.get("ticketId"), t.get("ticketReference"),
+                cb.substring(t.get("description"), 1, TicketSummary.DESCRIPTION_PREVIEW_LENGTH),
+                t.get("status"), t.get("priority"), t.get("slaStatus"),
+                t.get("slaStartTime"), t.get("slaDueTime"), t.get("atRiskAt"), t.get("slaPausedAt"), t.get("createdAt"), t.get("lastUpdatedAt"),
+                c.get("userId"), c.get("name"), c.get("username"),
+                e.get("userId"), e.get("name"), e.get("username"),
+                m.get("userId"), m.get("name"), m.get("username"),
+                cat.get("categoryId"), cat.get("categoryName")));
+
+        cq.where(TicketSpecifications.matching(criteria, cursor).toPredicate(t, cq, cb));
+        cq.orderBy(cb.desc(t.get("ticketId")));
+
+        return entityManager.createQuery(cq)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.prodapt.network_ticketing.repository;
+
+import com.prodapt.network_ticketing.dto.TicketSearchCriteria;
+import com.prodapt.network_ticketing.entity.Ticket;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Composable filters for the paginated ticket listing.
+ * Every predicate is a plain column comparison so MySQL can use the ticket indexes. The page comes out of an
+ * index already ordered by ticket_id only when the filters are single-value equalities on that index's leading
+ * columns (status, status + priority, customer + status, engineer + status, see Ticket); a created-at range or
+ * several values of one filter make MySQL sort the matching rows before the LIMIT applies.
+ */
+public final class TicketSpecifications {
+
+    private TicketSpecifications() {
+    }
+
+    public static Specification<Ticket> matching(TicketSearchCriteria criteria, Long cursor) {
+        Specification<Ticket> spec = (root, query, cb) -> cb.conjunction();
+
+        if (criteria.getStatus() != null && !criteria.getStatus().isEmpty()) {
+            spec = spec.and((root, query, cb) -> root.get("status").in(criteria.getStatus()));
+        }
+        if (criteria.getSlaStatus() != null && !criteria.getSlaStatus().isEmpty()) {
+            spec = spec.and((root, query, cb) -> root.get("slaStatus").in(criteria.getSlaStatus()));
+        }
+        if (criteria.getPriority() != null && !criteria.getPriority().isEmpty()) {
+            spec = spec.and((root, query, cb) -> root.get("priority").in(criteria.getPriority()));
+        }
+        if (criteria.getCategoryId() != null) {
+            spec = spec.and((root, query, cb) ->
+                    cb.equal(root.get("issueCategory").get("categoryId"), criteria.getCategoryId()));
+        }
+        if (criteria.getEngineerId() != null) {
+            spec = spec.and((root, query, cb) ->
+                    cb.equal(root.get("assignedEngineer").get("userId"), criteria.getEngineerId()));
+        }
+        if (criteria.getCustomerId() != null) {
+            spec = spec.and((root, query, cb) ->
+                    cb.equal(root.get("customer").get("userId"), criteria.getCustomerId()));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            spec = spec.and((root, query, cb) ->
+                    cb.greaterThanOrEqualTo(root.get("createdAt"), criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            spec = spec.and((root, query, cb) ->
+                    cb.lessThan(root.get("createdAt"), criteria.getCreatedTo()));
+        }
+
+        // keyset: continue strictly after the last ticket of the previous page
+        if (cursor != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("ticketId"), cursor));
+        }
+        return spec;
+    }
+}
@@ -1,7 +1,10 @@
 package com.prodapt.network_ticketing.repository;
 
+import com.prodapt.network_ticketing.dto.TicketHistoryEntry;
 import com.prodapt.network_ticketing.entity.TicketStatusHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -9,4 +12,10 @@ public interface TicketStatusHistoryRepository
         extends JpaRepository<TicketStatusHistory, Long> {
 
     List<TicketStatusHistory> findByTicket_TicketId(Long ticketId);
+
+    @Query("select new com.prodapt.network_ticketing.dto.TicketHistoryEntry("
+            + "h.historyId, h.oldStatus, h.newStatus, h.changedAt, u.userId, u.name, u.username) "
+            + "from TicketStatusHistory h left join h.changedBy u "
+            + "where h.ticket.ticketId = :ticketId order by h.historyId")
+    List<TicketHistoryEntry> findEntriesByTicketId(@Param("ticketId") Long ticketId);
 }
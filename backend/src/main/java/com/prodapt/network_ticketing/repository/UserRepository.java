@@ -1,7 +1,12 @@
 package com.prodapt.network_ticketing.repository;
 
+import com.prodapt.network_ticketing.config.CacheConfig;
+import com.prodapt.network_ticketing.dto.CachedUser;
 import com.prodapt.network_ticketing.entity.User;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.List;
@@ -10,5 +15,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    // Short-TTL cached lookup for lifecycle checks (role, email); an immutable projection, never the entity
+    @Cacheable(cacheNames = CacheConfig.USERS, unless = "#result == null")
+    @Query("select new com.prodapt.network_ticketing.dto.CachedUser(u.userId, u.name, u.username, u.email, r.roleName) " +
+            "from User u join u.role r where u.userId = :userId")
+    Optional<CachedUser> findCachedById(@Param("userId") Long userId);
+
     List<User> findByRole_RoleName(com.prodapt.network_ticketing.entity.enums.RoleName roleName);
 }
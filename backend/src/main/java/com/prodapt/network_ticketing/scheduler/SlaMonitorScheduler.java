@@ -1,106 +1,221 @@
 package com.prodapt.network_ticketing.scheduler;
 
 import com.prodapt.network_ticketing.entity.Ticket;
-import com.prodapt.network_ticketing.entity.enums.SlaStatus;
-import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+import com.prodapt.network_ticketing.event.TicketSnapshot;
 import com.prodapt.network_ticketing.repository.TicketRepository;
-import com.prodapt.network_ticketing.service.SlaAlertService;
-import com.prodapt.network_ticketing.service.EmailService;
+import com.prodapt.network_ticketing.sla.SlaBulkTransitions;
+import com.prodapt.network_ticketing.sla.SlaDeadlineEngine;
+import com.prodapt.network_ticketing.sla.SlaPartitionLeases;
+import com.prodapt.network_ticketing.sla.SlaStatusUpdater;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Safety-net sweep. Transitions normally fire on time from {@link SlaDeadlineEngine}; this pass
+ * catches anything the engine missed (e.g. tickets changed by another instance) and re-syncs it.
+ *
+ * Open tickets are read in id-ordered chunks, each in its own transaction whose persistence
+ * context is flushed (as JDBC batches) and cleared before the next, so memory stays bounded
+ * by the chunk size rather than the backlog.
+ *
+ * With app.sla.monitor.mode=set the sweep instead runs the transition rules as set-based SQL
+ * ({@link SlaBulkTransitions}) and only loads the tickets that actually changed.
+ *
+ * Either way only tickets in the partitions this node leases are processed ({@link SlaPartitionLeases}),
+ * so several instances share the work instead of each sending the same alerts. Ownership is checked again
+ * before every chunk and the run stops once a partition it started with is no longer leased.
+ */
 @Component
 public class SlaMonitorScheduler {
 
     private final TicketRepository ticketRepository;
     private static final Logger log = LoggerFactory.getLogger(SlaMonitorScheduler.class);
-    private final SlaAlertService slaAlertService;
-    private final EmailService emailService;
-
-    public SlaMonitorScheduler(TicketRepository ticketRepository, SlaAlertService slaAlertService, EmailService emailService) {
+    private final SlaStatusUpdater slaStatusUpdater;
+    private final SlaDeadlineEngine slaDeadlineEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final SlaBulkTransitions slaBulkTransitions;
+    private final SlaPartitionLeases partitionLeases;
+    private final int chunkSize;
+    private final boolean setBased;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile SweepStats lastRun;
+
+    private final Counter scannedCounter;
+    private final Counter transitionedCounter;
+    private final Timer sweepTimer;
+
+    public SlaMonitorScheduler(TicketRepository ticketRepository, SlaStatusUpdater slaStatusUpdater,
+                               SlaDeadlineEngine slaDeadlineEngine, PlatformTransactionManager transactionManager,
+                               SlaBulkTransitions slaBulkTransitions, SlaPartitionLeases partitionLeases,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.sla.sweep-chunk-size:500}") int chunkSize,
+                               @Value("${app.sla.monitor.mode:entity}") String mode) {
         this.ticketRepository = ticketRepository;
-        this.slaAlertService = slaAlertService;
-        this.emailService = emailService;
+        this.slaStatusUpdater = slaStatusUpdater;
+        this.slaDeadlineEngine = slaDeadlineEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.slaBulkTransitions = slaBulkTransitions;
+        this.partitionLeases = partitionLeases;
+        this.chunkSize = chunkSize;
+        this.setBased = "set".equalsIgnoreCase(mode);
+        this.scannedCounter = meterRegistry.counter("sla.sweep.scanned");
+        this.transitionedCounter = meterRegistry.counter("sla.sweep.transitioned");
+        this.sweepTimer = meterRegistry.timer("sla.sweep.duration");
     }
 
-    // 🔁 Runs every 5 minutes
-    @Scheduled(fixedRate = 5 * 60 * 1000)
+    // 🔁 Runs hourly by default; fixed delay, so a slow run pushes the next one back instead of piling up
+    @Scheduled(fixedDelayString = "${app.sla.sweep-interval-ms:3600000}",
+            initialDelayString = "${app.sla.sweep-interval-ms:3600000}")
     public void monitorSlaBreaches() {
+        if (partitionLeases.ownedPartitions().isEmpty()) {
+            log.debug("No SLA partitions leased by node {}, skipping sweep", partitionLeases.getNodeId());
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("SLA sweep still running, skipping this trigger");
+            return;
+        }
+        try {
+            lastRun = sweep();
+        } finally {
+            running.set(false);
+        }
+    }
 
-        // Fetch only active tickets
-        List<Ticket> activeTickets =
-                ticketRepository.findByStatusNot(TicketStatus.CLOSED);
-
-        log.info("SLA Scheduler running at {}", LocalDateTime.now());
+    public SweepStats getLastRun() {
+        return lastRun;
+    }
 
+    private SweepStats sweep() {
+        long startNanos = System.nanoTime();
         LocalDateTime now = LocalDateTime.now();
+        log.info("SLA Scheduler running at {}", now);
 
-        for (Ticket ticket : activeTickets) {
-
-            SlaStatus oldStatus = ticket.getSlaStatus();
-            SlaStatus newStatus = calculateSlaStatus(ticket, now);
+        long scanned = 0;
+        long transitioned = 0;
+        Long afterId = 0L;
 
-            // 🔁 Update only if SLA status changed
-            if (oldStatus != newStatus) {
+        if (setBased) {
+            // only the matching rows are ever read, so scanned == transitioned
+            transitioned = slaBulkTransitions.run(now);
+            scanned = transitioned;
+        }
 
-                ticket.setSlaStatus(newStatus);
+        int partitions = partitionLeases.partitionCount();
+        Set<Integer> owned = partitionLeases.ownedPartitions();
 
-                // 🚨 SLA breach alert (ONE TIME ONLY)
-                if (newStatus == SlaStatus.BREACHED && !ticket.isSlaAlertSent()) {
+        while (!setBased && !owned.isEmpty()) {
+            // the leases may have been lost (or rebalanced away) while the previous chunk ran
+            if (!partitionLeases.ownedPartitions().containsAll(owned)) {
+                log.warn("SLA partitions of node {} changed during the sweep, stopping after {} ticket(s)",
+                        partitionLeases.getNodeId(), scanned);
+                break;
+            }
+            Long cursor = afterId;
+            ChunkResult chunk = transactionTemplate.execute(status -> processChunk(cursor, partitions, owned, now));
+            if (chunk == null || chunk.size == 0) break;
+
+            scanned += chunk.size;
+            transitioned += chunk.transitioned;
+            afterId = chunk.lastId;
+            if (chunk.size < chunkSize) break;
+        }
 
-                    slaAlertService.sendSlaBreachAlert(ticket);
-                    ticket.setSlaAlertSent(true);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        scannedCounter.increment(scanned);
+        transitionedCounter.increment(transitioned);
+        sweepTimer.record(elapsedMs, TimeUnit.MILLISECONDS);
 
-                    // Send SLA breach email notification
-                    try {
-                        emailService.sendSlaBreachEmail(ticket);
-                    } catch (Exception ex) {
-                        log.error("Error sending SLA breach email for ticket {}: {}", ticket.getTicketId(), ex.getMessage());
-                    }
-                }
+        log.info("SLA sweep done: scanned={} transitioned={} elapsedMs={}", scanned, transitioned, elapsedMs);
+        if (transitioned > 0) {
+            log.warn("SLA sweep applied {} transition(s) the deadline engine had not fired", transitioned);
+        }
+        return new SweepStats(now, scanned, transitioned, elapsedMs);
+    }
 
-                // 80% SLA warning (when transitioning to AT_RISK)
-                if (newStatus == SlaStatus.AT_RISK && oldStatus != SlaStatus.AT_RISK) {
-                    try {
-                        emailService.sendSlaWarningEmail(ticket);
-                    } catch (Exception ex) {
-                        log.error("Error sending SLA warning email for ticket {}: {}", ticket.getTicketId(), ex.getMessage());
-                    }
-                }
+    private ChunkResult processChunk(Long afterId, int partitions, Set<Integer> owned, LocalDateTime now) {
+        List<Ticket> tickets = ticketRepository.findOpenChunkAfter(afterId, partitions, owned, Limit.of(chunkSize));
 
-                ticketRepository.save(ticket);
+        int transitioned = 0;
+        for (Ticket ticket : tickets) {
+            if (slaStatusUpdater.update(ticket, now)) {
+                transitioned++;
+            } else {
+                slaDeadlineEngine.track(TicketSnapshot.of(ticket));
             }
         }
-    }
 
+        // push this chunk's updates out as one batch and drop the entities before the next chunk
+        entityManager.flush();
+        entityManager.clear();
+
+        Long lastId = tickets.isEmpty() ? afterId : tickets.get(tickets.size() - 1).getTicketId();
+        return new ChunkResult(tickets.size(), transitioned, lastId);
+    }
 
-    // 🧠 SLA calculation logic
-    private SlaStatus calculateSlaStatus(Ticket ticket, LocalDateTime now) {
+    private static final class ChunkResult {
+        private final int size;
+        private final int transitioned;
+        private final Long lastId;
 
-        if (now.isAfter(ticket.getSlaDueTime())) {
-            return SlaStatus.BREACHED;
+        private ChunkResult(int size, int transitioned, Long lastId) {
+            this.size = size;
+            this.transitioned = transitioned;
+            this.lastId = lastId;
         }
+    }
 
-        long totalMinutes = Duration
-                .between(ticket.getSlaStartTime(), ticket.getSlaDueTime())
-                .toMinutes();
+    /**
+     * Outcome of one sweep run.
+     */
+    public static final class SweepStats {
+        private final LocalDateTime startedAt;
+        private final long scanned;
+        private final long transitioned;
+        private final long elapsedMs;
+
+        public SweepStats(LocalDateTime startedAt, long scanned, long transitioned, long elapsedMs) {
+            this.startedAt = startedAt;
+            this.scanned = scanned;
+            this.transitioned = transitioned;
+            this.elapsedMs = elapsedMs;
+        }
 
-        long usedMinutes = Duration
-                .between(ticket.getSlaStartTime(), now)
-                .toMinutes();
+        public LocalDateTime getStartedAt() {
+            return startedAt;
+        }
 
-        double usageRatio = (double) usedMinutes / totalMinutes;
+        public long getScanned() {
+            return scanned;
+        }
 
-        if (usageRatio >= 0.8) {
-            return SlaStatus.AT_RISK;
+        public long getTransitioned() {
+            return transitioned;
         }
 
-        return SlaStatus.ON_TRACK;
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
     }
 }
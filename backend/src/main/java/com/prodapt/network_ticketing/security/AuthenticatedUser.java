@@ -0,0 +1,54 @@
+package com.prodapt.network_ticketing.security;
+
+import com.prodapt.network_ticketing.entity.enums.RoleName;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Principal built by {@link JwtFilter} from the token claims, so services can check who is calling
+ * (id and role) without loading the user row.
+ */
+public class AuthenticatedUser {
+
+    private final Long userId;
+    private final String username;
+    private final RoleName role;
+
+    public AuthenticatedUser(Long userId, String username, RoleName role) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+    }
+
+    // principal of the current request, if it carried a token with a user id
+    public static Optional<AuthenticatedUser> current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user && user.getUserId() != null) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+
+    public boolean is(Long otherUserId) {
+        return userId != null && userId.equals(otherUserId);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public RoleName getRole() {
+        return role;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -1,5 +1,6 @@
 package com.prodapt.network_ticketing.security;
 
+import com.prodapt.network_ticketing.entity.enums.RoleName;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -36,10 +37,15 @@ public class JwtFilter extends OncePerRequestFilter {
 
             Claims claims = jwtUtil.validateToken(token);
             String role = claims.get("role", String.class);
+            // tokens issued before the uid claim existed still authenticate, just without an id
+            Number uid = claims.get("uid", Number.class);
+
+            AuthenticatedUser principal = new AuthenticatedUser(
+                    uid != null ? uid.longValue() : null, claims.getSubject(), parseRole(role));
 
             UsernamePasswordAuthenticationToken auth =
                     new UsernamePasswordAuthenticationToken(
-                            claims.getSubject(),
+                            principal,
                             null,
                             List.of(new SimpleGrantedAuthority("ROLE_" + role))
                     );
@@ -49,4 +55,12 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private static RoleName parseRole(String role) {
+        try {
+            return role != null ? RoleName.valueOf(role) : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
 }
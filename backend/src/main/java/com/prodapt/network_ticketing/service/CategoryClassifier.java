@@ -0,0 +1,169 @@
+package com.prodapt.network_ticketing.service;
+
+import com.prodapt.network_ticketing.dto.CachedCategory;
+import com.prodapt.network_ticketing.repository.IssueCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keyword classifier behind ticket auto-categorization.
+ *
+ * Category names and descriptions are tokenized once into an inverted index, rebuilt by
+ * {@link IssueCategoryService} whenever categories change. Classifying a description is then a
+ * handful of map lookups per token and never touches the category table.
+ *
+ * Scoring per description token t (longer than 2 chars) and category c:
+ * +2 if t occurs in one of c's tokens, plus 0.5 for every c token that contains t or is contained in t.
+ * The best category wins if it scores at least 1.
+ */
+@Component
+public class CategoryClassifier {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryClassifier.class);
+
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final double MATCH_WEIGHT = 2.0;
+    private static final double PARTIAL_WEIGHT = 0.5;
+    private static final double MIN_SCORE = 1.0;
+
+    private final IssueCategoryRepository issueCategoryRepository;
+
+    private volatile Index index;
+
+    public CategoryClassifier(IssueCategoryRepository issueCategoryRepository) {
+        this.issueCategoryRepository = issueCategoryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        Index fresh = new Index(issueCategoryRepository.findAll().stream().map(CachedCategory::from).toList());
+        index = fresh;
+        log.debug("Category classifier rebuilt: {} categories, {} index keys",
+                fresh.categories.size(), fresh.containing.size());
+    }
+
+    /**
+     * Best matching category for a free-text description, or null when nothing scores high enough.
+     * The result is the category as it was at the last rebuild.
+     */
+    public CachedCategory classify(String description) {
+        if (description == null || description.trim().length() < 4) return null;
+
+        Index current = index;
+        if (current == null) {
+            rebuild();
+            current = index;
+        }
+        return current.classify(description);
+    }
+
+    // lower-case alphanumeric runs; everything else separates tokens
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                current.append(c);
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) tokens.add(current.toString());
+        return tokens;
+    }
+
+    private static final class Index {
+
+        private final List<CachedCategory> categories;
+        // token -> per-category number of category tokens equal to it
+        private final Map<String, int[]> exact = new HashMap<>();
+        // substring -> per-category number of category tokens containing it
+        private final Map<String, int[]> containing = new HashMap<>();
+
+        Index(List<CachedCategory> categories) {
+            this.categories = List.copyOf(categories);
+            int n = this.categories.size();
+
+            for (int c = 0; c < n; c++) {
+                CachedCategory category = this.categories.get(c);
+                List<String> tokens = tokenize(category.getCategoryName());
+                tokens.addAll(tokenize(category.getDescription()));
+
+                for (String token : tokens) {
+                    if (token.length() < MIN_TOKEN_LENGTH) continue;
+                    exact.computeIfAbsent(token, k -> new int[n])[c]++;
+                    for (String sub : substrings(token)) {
+                        containing.computeIfAbsent(sub, k -> new int[n])[c]++;
+                    }
+                }
+            }
+        }
+
+        CachedCategory classify(String description) {
+            int n = categories.size();
+            if (n == 0) return null;
+            double[] scores = new double[n];
+
+            for (String token : tokenize(description)) {
+                if (token.length() < MIN_TOKEN_LENGTH) continue;
+
+                // category tokens containing this token (this includes equal tokens)
+                int[] superCounts = containing.get(token);
+                // category tokens contained in this token, minus equal ones already counted above
+                int[] equalCounts = exact.get(token);
+                for (String sub : substrings(token)) {
+                    int[] subCounts = exact.get(sub);
+                    if (subCounts == null) continue;
+                    for (int c = 0; c < n; c++) {
+                        scores[c] += PARTIAL_WEIGHT * subCounts[c];
+                    }
+                }
+                for (int c = 0; c < n; c++) {
+                    int sup = superCounts == null ? 0 : superCounts[c];
+                    int eq = equalCounts == null ? 0 : equalCounts[c];
+                    if (sup > 0) scores[c] += MATCH_WEIGHT;
+                    scores[c] += PARTIAL_WEIGHT * (sup - eq);
+                }
+            }
+
+            int best = -1;
+            double bestScore = 0;
+            for (int c = 0; c < n; c++) {
+                if (scores[c] > bestScore) {
+                    bestScore = scores[c];
+                    best = c;
+                }
+            }
+            return bestScore >= MIN_SCORE ? categories.get(best) : null;
+        }
+
+        // distinct substrings of at least MIN_TOKEN_LENGTH chars, the token itself included
+        private static Set<String> substrings(String token) {
+            Set<String> subs = new HashSet<>();
+            for (int start = 0; start < token.length(); start++) {
+                for (int end = start + MIN_TOKEN_LENGTH; end <= token.length(); end++) {
+                    subs.add(token.substring(start, end));
+                }
+            }
+            return subs;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.prodapt.network_ticketing.service;
+
+import com.prodapt.network_ticketing.dto.EngineerLoad;
+import com.prodapt.network_ticketing.entity.User;
+import com.prodapt.network_ticketing.entity.enums.Priority;
+import com.prodapt.network_ticketing.entity.enums.RoleName;
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.event.TicketChangedEvent;
+import com.prodapt.network_ticketing.event.TicketSnapshot;
+import com.prodapt.network_ticketing.repository.TicketRepository;
+import com.prodapt.network_ticketing.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory open workload per engineer, so auto-assignment never has to aggregate tickets in the DB.
+ *
+ * Kept current by applying each committed {@link TicketChangedEvent} as a delta (remove the old
+ * ticket's contribution, add the new one) and rebuilt from the DB on a fixed delay to correct any drift.
+ *
+ * A rebuild does not block the events: they keep updating the live map while the DB is aggregated, and
+ * are recorded and replayed onto the fresh map before it replaces the live one, so a change that commits
+ * during the rebuild is not lost when the fresh map is swapped in.
+ */
+@Component
+public class EngineerLoadIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EngineerLoadIndex.class);
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+
+    // replaced as a whole by reconcile; deltas are applied under the lock of this index
+    private volatile Map<Long, EngineerLoad> loads = new ConcurrentHashMap<>();
+    private volatile Set<Long> engineerIds = Set.of();
+    private volatile boolean loaded;
+
+    // one rebuild at a time; events that commit while one runs, to replay on its result (guarded by this)
+    private final Object reconcileLock = new Object();
+    private List<TicketChangedEvent> duringReconcile;
+
+    public EngineerLoadIndex(TicketRepository ticketRepository, UserRepository userRepository) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.engineer-load.reconcile-ms:600000}",
+            initialDelayString = "${app.engineer-load.reconcile-ms:600000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            synchronized (this) {
+                duringReconcile = new ArrayList<>();
+            }
+            try {
+                rebuild();
+            } finally {
+                synchronized (this) {
+                    duringReconcile = null;
+                }
+            }
+        }
+    }
+
+    private void rebuild() {
+        Set<Long> roster = userRepository.findByRole_RoleName(RoleName.ENGINEER).stream()
+                .map(User::getUserId)
+                .collect(Collectors.toUnmodifiableSet());
+
+        Map<Long, EngineerLoad> fresh = new ConcurrentHashMap<>();
+        for (EngineerLoad load : ticketRepository.aggregateOpenLoadByEngineer()) {
+            if (!load.isIdle()) fresh.put(load.getEngineerId(), load);
+        }
+
+        int drifted = 0;
+        synchronized (this) {
+            // changes committed while the aggregate ran; at worst one that committed just before it started
+            // is counted twice, which the next run corrects
+            for (TicketChangedEvent event : duringReconcile) {
+                apply(fresh, event);
+            }
+            for (Long id : union(fresh.keySet(), loads.keySet())) {
+                EngineerLoad expected = fresh.getOrDefault(id, EngineerLoad.idle(id));
+                if (!expected.equals(loads.getOrDefault(id, EngineerLoad.idle(id)))) drifted++;
+            }
+            loads = fresh;
+            engineerIds = roster;
+        }
+
+        if (loaded && drifted > 0) {
+            log.warn("Engineer load index corrected drift for {} engineer(s)", drifted);
+        }
+        loaded = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTicketChanged(TicketChangedEvent event) {
+        apply(loads, event);
+        if (duringReconcile != null) duringReconcile.add(event);
+    }
+
+    public EngineerLoad get(Long engineerId) {
+        return loads.getOrDefault(engineerId, EngineerLoad.idle(engineerId));
+    }
+
+    /**
+     * Picks the engineer with the lowest assignment score. Runs over the in-memory roster only.
+     */
+    public Optional<Long> leastLoadedEngineer() {
+        if (!loaded) reconcile();
+
+        Long best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (Long id : engineerIds) {
+            EngineerLoad load = get(id);
+            double score = assignmentScore(load);
+
+            log.debug("AutoAssign: engineer={} load={} risk={} high={} score={}",
+                    id, load.getOpenCount(), load.getRiskScore(), load.getHighCount(), score);
+
+            if (score < bestScore) {
+                bestScore = score;
+                best = id;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    // lower is better: open load, SLA risk and HIGH priority work all count against an engineer
+    private double assignmentScore(EngineerLoad load) {
+        double loadWeight = load.getOpenCount() * 2.0;
+        double riskWeight = load.getRiskScore() * 1.5;
+        double priorityFactor = load.getHighCount() * 1.0;
+        return loadWeight + riskWeight + priorityFactor + Math.random() * 0.1; // tiny jitter to break ties
+    }
+
+    private static void apply(Map<Long, EngineerLoad> target, TicketChangedEvent event) {
+        EngineerLoad removed = contributionOf(event.getBefore());
+        if (removed != null) merge(target, removed.negate());
+        EngineerLoad added = contributionOf(event.getAfter());
+        if (added != null) merge(target, added);
+    }
+
+    private static void merge(Map<Long, EngineerLoad> target, EngineerLoad delta) {
+        target.compute(delta.getEngineerId(), (id, current) -> {
+            EngineerLoad next = current == null ? delta : current.plus(delta);
+            return next.isIdle() ? null : next;
+        });
+    }
+
+    // what a single ticket adds to its engineer's load; null when it counts for nobody
+    private static EngineerLoad contributionOf(TicketSnapshot ticket) {
+        if (ticket == null || ticket.getEngineerId() == null || !ticket.isOpen()) return null;
+        return new EngineerLoad(ticket.getEngineerId(), 1L,
+                ticket.getSlaStatus() == SlaStatus.AT_RISK ? 1L : 0L,
+                ticket.getSlaStatus() == SlaStatus.BREACHED ? 1L : 0L,
+                ticket.getPriority() == Priority.HIGH ? 1L : 0L);
+    }
+
+    private static Set<Long> union(Collection<Long> a, Collection<Long> b) {
+        Set<Long> all = new HashSet<>(a);
+        all.addAll(b);
+        return all;
+    }
+}
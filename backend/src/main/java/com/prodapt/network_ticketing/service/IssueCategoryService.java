@@ -1,39 +1,121 @@
 package com.prodapt.network_ticketing.service;
 
+import com.prodapt.network_ticketing.config.CacheConfig;
+import com.prodapt.network_ticketing.dto.CachedCategory;
 import com.prodapt.network_ticketing.entity.IssueCategory;
 import com.prodapt.network_ticketing.repository.IssueCategoryRepository;
+import com.prodapt.network_ticketing.sla.SlaCalculator;
+import com.prodapt.network_ticketing.sla.SlaCalendars;
+import com.prodapt.network_ticketing.sla.SlaRecalculationJob;
+import com.prodapt.network_ticketing.sla.SlaRecalculator;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class IssueCategoryService {
 
     private final IssueCategoryRepository repository;
+    private final CategoryClassifier categoryClassifier;
+    private final SlaCalendars slaCalendars;
+    private final SlaRecalculator slaRecalculator;
 
-    public IssueCategoryService(IssueCategoryRepository repository) {
+    public IssueCategoryService(IssueCategoryRepository repository, CategoryClassifier categoryClassifier,
+                                SlaCalendars slaCalendars, SlaRecalculator slaRecalculator) {
         this.repository = repository;
+        this.categoryClassifier = categoryClassifier;
+        this.slaCalendars = slaCalendars;
+        this.slaRecalculator = slaRecalculator;
+    }
+
+    // categories change rarely; both caches are evicted by save/update/delete below. They hold immutable
+    // views, never entities: a cached entity is shared by every caller and would be attached to their tickets
+    @Cacheable(CacheConfig.ISSUE_CATEGORIES)
+    public List<CachedCategory> findAll() {
+        return repository.findAll().stream().map(CachedCategory::from).toList();
     }
 
-    public List<IssueCategory> findAll() {
-        return repository.findAll();
+    @Cacheable(CacheConfig.ISSUE_CATEGORY)
+    public CachedCategory findById(Long id) {
+        return repository.findById(id).map(CachedCategory::from)
+                .orElseThrow(() -> new RuntimeException("Issue category not found"));
     }
 
+    // content hash of the category list, used as the ETag of GET /api/issue-categories
+    public String etag(List<CachedCategory> categories) {
+        StringBuilder sb = new StringBuilder();
+        for (CachedCategory c : categories) {
+            sb.append(c.getCategoryId()).append('|')
+                    .append(c.getCategoryCode()).append('|')
+                    .append(c.getCategoryName()).append('|')
+                    .append(c.getDescription()).append('|')
+                    .append(c.getSlaHours()).append('|')
+                    .append(c.getSlaCalendarId()).append('|')
+                    .append(c.getIsActive()).append('\n');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ISSUE_CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ISSUE_CATEGORY, allEntries = true)
+    })
     public IssueCategory save(IssueCategory category) {
-        return repository.save(category);
+        IssueCategory saved = repository.save(category);
+        categoryClassifier.rebuild();
+        slaCalendars.rebuild();
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ISSUE_CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ISSUE_CATEGORY, allEntries = true)
+    })
     public IssueCategory update(Long id, IssueCategory updated) {
-        return repository.findById(id).map(existing -> {
-            existing.setCategoryCode(updated.getCategoryCode());
-            existing.setCategoryName(updated.getCategoryName());
-            existing.setDescription(updated.getDescription());
-            existing.setSlaHours(updated.getSlaHours());
-            existing.setIsActive(updated.getIsActive());
-            return repository.save(existing);
-        }).orElseThrow(() -> new RuntimeException("IssueCategory not found"));
+        IssueCategory existing = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("IssueCategory not found"));
+        int previousSlaHours = slaHoursOf(existing);
+        Long previousCalendarId = existing.getSlaCalendarId();
+
+        existing.setCategoryCode(updated.getCategoryCode());
+        existing.setCategoryName(updated.getCategoryName());
+        existing.setDescription(updated.getDescription());
+        existing.setSlaHours(updated.getSlaHours());
+        existing.setSlaCalendarId(updated.getSlaCalendarId());
+        existing.setIsActive(updated.getIsActive());
+        IssueCategory saved = repository.save(existing);
+        categoryClassifier.rebuild();
+        slaCalendars.rebuild();
+
+        // open tickets would keep their old window; they are recalculated in the background
+        if (slaHoursOf(saved) != previousSlaHours || !Objects.equals(saved.getSlaCalendarId(), previousCalendarId)) {
+            slaRecalculator.submit(id, slaHoursOf(saved), saved.getSlaCalendarId(), previousSlaHours, previousCalendarId);
+        }
+        return saved;
+    }
+
+    public Optional<SlaRecalculationJob> getSlaRecalculation(Long id) {
+        return slaRecalculator.latest(id);
+    }
+
+    private static int slaHoursOf(IssueCategory category) {
+        return category.getSlaHours() != null ? category.getSlaHours() : SlaCalculator.DEFAULT_SLA_HOURS;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ISSUE_CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ISSUE_CATEGORY, allEntries = true)
+    })
     public void delete(Long id) {
         repository.deleteById(id);
+        categoryClassifier.rebuild();
+        slaCalendars.rebuild();
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.prodapt.network_ticketing.service;
+
+import com.prodapt.network_ticketing.entity.IssueCategory;
+import com.prodapt.network_ticketing.entity.SlaCalendar;
+import com.prodapt.network_ticketing.repository.IssueCategoryRepository;
+import com.prodapt.network_ticketing.repository.SlaCalendarRepository;
+import com.prodapt.network_ticketing.sla.SlaCalculator;
+import com.prodapt.network_ticketing.sla.SlaCalendars;
+import com.prodapt.network_ticketing.sla.SlaRecalculator;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class SlaCalendarService {
+
+    private final SlaCalendarRepository repository;
+    private final IssueCategoryRepository categoryRepository;
+    private final SlaCalendars slaCalendars;
+    private final SlaRecalculator slaRecalculator;
+
+    public SlaCalendarService(SlaCalendarRepository repository, IssueCategoryRepository categoryRepository,
+                              SlaCalendars slaCalendars, SlaRecalculator slaRecalculator) {
+        this.repository = repository;
+        this.categoryRepository = categoryRepository;
+        this.slaCalendars = slaCalendars;
+        this.slaRecalculator = slaRecalculator;
+    }
+
+    public List<SlaCalendar> findAll() {
+        return repository.findAll();
+    }
+
+    public SlaCalendar save(SlaCalendar calendar) {
+        validate(calendar);
+        SlaCalendar saved = repository.save(calendar);
+        slaCalendars.rebuild();
+        return saved;
+    }
+
+    public SlaCalendar update(Long id, SlaCalendar updated) {
+        validate(updated);
+        SlaCalendar existing = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("SLA calendar not found"));
+        boolean hoursChanged = !sameWorkingTime(existing, updated);
+        // the windows of open tickets were set in this version; they are re-read in it after the rebuild
+        SlaCalendars.Clock previous = slaCalendars.clock(id);
+
+        existing.setName(updated.getName());
+        existing.setWorkdayStart(updated.getWorkdayStart());
+        existing.setWorkdayEnd(updated.getWorkdayEnd());
+        existing.setWorkingDays(updated.getWorkingDays());
+        existing.getHolidays().clear();
+        if (updated.getHolidays() != null) existing.getHolidays().addAll(updated.getHolidays());
+        SlaCalendar saved = repository.save(existing);
+        slaCalendars.rebuild();
+
+        // open tickets of every category on this calendar are recalculated in the background,
+        // as IssueCategoryService.update does for a category's own change
+        if (hoursChanged) {
+            for (IssueCategory category : categoryRepository.findBySlaCalendarId(id)) {
+                int slaHours = slaHoursOf(category);
+                slaRecalculator.submit(category.getCategoryId(), slaHours, id, slaHours, previous);
+            }
+        }
+        return saved;
+    }
+
+    // a category that still counts in the calendar would silently fall back to 24x7
+    public void delete(Long id) {
+        List<IssueCategory> categories = categoryRepository.findBySlaCalendarId(id);
+        if (!categories.isEmpty()) {
+            throw new RuntimeException("SLA calendar is still used by categories: " + categories.stream()
+                    .map(IssueCategory::getCategoryCode).collect(Collectors.joining(", ")));
+        }
+        repository.deleteById(id);
+        slaCalendars.rebuild();
+    }
+
+    private static boolean sameWorkingTime(SlaCalendar a, SlaCalendar b) {
+        return Objects.equals(a.getWorkdayStart(), b.getWorkdayStart())
+                && Objects.equals(a.getWorkdayEnd(), b.getWorkdayEnd())
+                && workingDays(a).equals(workingDays(b))
+                && new HashSet<>(a.getHolidays()).equals(b.getHolidays() != null ? new HashSet<>(b.getHolidays()) : Set.of());
+    }
+
+    private static Set<DayOfWeek> workingDays(SlaCalendar calendar) {
+        Set<DayOfWeek> days = new HashSet<>();
+        for (String day : calendar.getWorkingDays().split(",")) {
+            if (!day.isBlank()) days.add(DayOfWeek.valueOf(day.trim().toUpperCase()));
+        }
+        return days;
+    }
+
+    private static int slaHoursOf(IssueCategory category) {
+        return category.getSlaHours() != null ? category.getSlaHours() : SlaCalculator.DEFAULT_SLA_HOURS;
+    }
+
+    private void validate(SlaCalendar calendar) {
+        if (calendar.getWorkdayStart() == null || calendar.getWorkdayEnd() == null
+                || !calendar.getWorkdayStart().isBefore(calendar.getWorkdayEnd())) {
+            throw new RuntimeException("Working day must start before it ends");
+        }
+        if (calendar.getWorkingDays() == null || calendar.getWorkingDays().isBlank()) {
+            throw new RuntimeException("At least one working day is required");
+        }
+        for (String day : calendar.getWorkingDays().split(",")) {
+            try {
+                DayOfWeek.valueOf(day.trim().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                throw new RuntimeException("Unknown working day: " + day.trim());
+            }
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.prodapt.network_ticketing.service;
 
 import com.prodapt.network_ticketing.dto.CreateTicketRequest;
+import com.prodapt.network_ticketing.dto.SlaForecastHour;
+import com.prodapt.network_ticketing.dto.TicketDetail;
+import com.prodapt.network_ticketing.dto.TicketHistoryEntry;
+import com.prodapt.network_ticketing.dto.TicketPageResponse;
+import com.prodapt.network_ticketing.dto.TicketSearchCriteria;
+import com.prodapt.network_ticketing.dto.TicketSummary;
+import com.prodapt.network_ticketing.dto.UpcomingSlaEvent;
 import com.prodapt.network_ticketing.entity.Ticket;
-import com.prodapt.network_ticketing.entity.TicketStatusHistory;
 
 import java.util.List;
 
@@ -11,16 +17,23 @@ public interface TicketService {
     Ticket assignTicket(Long ticketId, Long engineerId, Long managerId, String priority);
     Ticket pickTicket(Long ticketId, Long engineerId);
     Ticket resolveTicket(Long ticketId, Long engineerId, String resolutionSummary);
+    Ticket holdTicket(Long ticketId, Long engineerId);
+    Ticket resumeTicket(Long ticketId, Long engineerId);
     Ticket closeTicket(Long ticketId, Long customerId);
     Ticket reopenTicket(Long ticketId, Long customerId, String reopenReason);
     Ticket autoAssignTicket(Long ticketId);
-    List<Ticket> getEngineerQueue(Long engineerId);
-    List<Ticket> getTicketsForCustomer(Long customerId);
-    List<Ticket> getTicketsForEngineer(Long engineerId);
-    List<Ticket> getAllTickets();
+    List<TicketSummary> getEngineerQueue(Long engineerId, int limit);
+    List<UpcomingSlaEvent> getUpcomingSlaEvents(int minutes, int limit);
+    List<SlaForecastHour> getSlaBreachForecast(int hours);
+    List<TicketSummary> getTicketsForCustomer(Long customerId);
+    List<TicketSummary> getTicketsForEngineer(Long engineerId);
+    List<TicketSummary> getAllTickets();
+    TicketPageResponse<TicketSummary> searchTickets(TicketSearchCriteria criteria, Long cursor, int size);
+    TicketDetail getTicketDetail(Long ticketId);
+    TicketDetail toDetail(Ticket ticket);
     Ticket updatePriority(Long ticketId, String priority);
     Ticket assignEngineer(Long ticketId, Long engineerId);
     Ticket setSlaMinutes(Long ticketId, long minutes);
     Ticket addAiResolution(Long ticketId, String aiResolution);
-    List<TicketStatusHistory> getTicketHistory(Long ticketId);
+    List<TicketHistoryEntry> getTicketHistory(Long ticketId);
 }
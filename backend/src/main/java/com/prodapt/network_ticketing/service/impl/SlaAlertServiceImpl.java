@@ -2,8 +2,8 @@ package com.prodapt.network_ticketing.service.impl;
 
 import com.prodapt.network_ticketing.entity.Ticket;
 import com.prodapt.network_ticketing.service.SlaAlertService;
-import com.prodapt.network_ticketing.service.EmailService;
-import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.notification.NotificationOutbox;
+import com.prodapt.network_ticketing.entity.enums.NotificationType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -14,10 +14,10 @@ public class SlaAlertServiceImpl implements SlaAlertService {
     private static final Logger log =
             LoggerFactory.getLogger(SlaAlertServiceImpl.class);
 
-    private final EmailService emailService;
+    private final NotificationOutbox notificationOutbox;
 
-    public SlaAlertServiceImpl(EmailService emailService) {
-        this.emailService = emailService;
+    public SlaAlertServiceImpl(NotificationOutbox notificationOutbox) {
+        this.notificationOutbox = notificationOutbox;
     }
 
     @Override
@@ -31,11 +31,7 @@ public class SlaAlertServiceImpl implements SlaAlertService {
                 ticket.getSlaDueTime()
         );
 
-        try {
-            // notify manager and assigned engineer only for SLA breach
-            emailService.sendSlaNotification(ticket, null, SlaStatus.BREACHED, false);
-        } catch (Exception ex) {
-            log.error("Failed to send SLA breach email: {}", ex.getMessage());
-        }
+        // breach email to manager, engineer and customer; queued in the caller's transaction, once per SLA window
+        notificationOutbox.enqueue(NotificationType.SLA_BREACHED, ticket);
     }
 }
@@ -1,63 +1,118 @@
 package com.prodapt.network_ticketing.service.impl;
 
+import com.prodapt.network_ticketing.dto.CachedCategory;
+import com.prodapt.network_ticketing.dto.CachedUser;
 import com.prodapt.network_ticketing.dto.CreateTicketRequest;
+import com.prodapt.network_ticketing.dto.SlaForecastHour;
+import com.prodapt.network_ticketing.dto.TicketDetail;
+import com.prodapt.network_ticketing.dto.TicketHistoryEntry;
+import com.prodapt.network_ticketing.dto.TicketPageResponse;
+import com.prodapt.network_ticketing.dto.TicketSearchCriteria;
+import com.prodapt.network_ticketing.dto.TicketSummary;
+import com.prodapt.network_ticketing.dto.UpcomingSlaEvent;
 import com.prodapt.network_ticketing.entity.IssueCategory;
 import com.prodapt.network_ticketing.entity.Ticket;
 import com.prodapt.network_ticketing.entity.TicketStatusHistory;
 import com.prodapt.network_ticketing.entity.User;
+import com.prodapt.network_ticketing.entity.enums.NotificationType;
 import com.prodapt.network_ticketing.entity.enums.Priority;
 import com.prodapt.network_ticketing.entity.enums.RoleName;
 import com.prodapt.network_ticketing.entity.enums.SlaStatus;
 import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+import com.prodapt.network_ticketing.event.TicketChangedEvent;
+import com.prodapt.network_ticketing.event.TicketSnapshot;
+import com.prodapt.network_ticketing.notification.NotificationOutbox;
 import com.prodapt.network_ticketing.repository.IssueCategoryRepository;
 import com.prodapt.network_ticketing.repository.TicketRepository;
 import com.prodapt.network_ticketing.repository.TicketStatusHistoryRepository;
 import com.prodapt.network_ticketing.repository.UserRepository;
+import com.prodapt.network_ticketing.security.AuthenticatedUser;
+import com.prodapt.network_ticketing.service.CategoryClassifier;
+import com.prodapt.network_ticketing.service.EngineerLoadIndex;
+import com.prodapt.network_ticketing.service.IssueCategoryService;
 import com.prodapt.network_ticketing.service.TicketService;
+import com.prodapt.network_ticketing.sla.SlaBreachForecast;
+import com.prodapt.network_ticketing.sla.SlaCalculator;
+import com.prodapt.network_ticketing.sla.SlaCalendars;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class TicketServiceImpl implements TicketService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_UNPAGED_TICKETS = 1000;
+    private static final int MAX_FORECAST_HOURS = 168;
+    // as TicketRepository.QUEUE_ORDER; MySQL sorts null due times first
+    private static final Comparator<TicketSummary> QUEUE_ORDER = Comparator
+            .comparingInt((TicketSummary t) -> Ticket.slaRank(t.getSlaStatus()))
+            .thenComparingInt(t -> Ticket.priorityRank(t.getPriority()))
+            .thenComparing(TicketSummary::getSlaDueTime, Comparator.nullsFirst(Comparator.naturalOrder()));
+
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
     private final IssueCategoryRepository issueCategoryRepository;
+    private final IssueCategoryService issueCategoryService;
     private final TicketStatusHistoryRepository historyRepository;
-    private final com.prodapt.network_ticketing.service.EmailService emailService;
+    private final NotificationOutbox notificationOutbox;
+    private final SlaCalculator slaCalculator;
+    private final SlaCalendars slaCalendars;
+    private final SlaBreachForecast slaBreachForecast;
+    private final EngineerLoadIndex engineerLoadIndex;
+    private final CategoryClassifier categoryClassifier;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TicketServiceImpl(
             TicketRepository ticketRepository,
             UserRepository userRepository,
             IssueCategoryRepository issueCategoryRepository,
+            IssueCategoryService issueCategoryService,
             TicketStatusHistoryRepository historyRepository,
-            com.prodapt.network_ticketing.service.EmailService emailService) {
+            NotificationOutbox notificationOutbox,
+            SlaCalculator slaCalculator,
+            SlaCalendars slaCalendars,
+            SlaBreachForecast slaBreachForecast,
+            EngineerLoadIndex engineerLoadIndex,
+            CategoryClassifier categoryClassifier,
+            ApplicationEventPublisher eventPublisher) {
 
         this.ticketRepository = ticketRepository;
         this.userRepository = userRepository;
         this.issueCategoryRepository = issueCategoryRepository;
+        this.issueCategoryService = issueCategoryService;
         this.historyRepository = historyRepository;
-        this.emailService = emailService;
+        this.notificationOutbox = notificationOutbox;
+        this.slaCalculator = slaCalculator;
+        this.slaCalendars = slaCalendars;
+        this.slaBreachForecast = slaBreachForecast;
+        this.engineerLoadIndex = engineerLoadIndex;
+        this.categoryClassifier = categoryClassifier;
+        this.eventPublisher = eventPublisher;
     }
 
     // ================= CREATE TICKET =================
 
+    @Transactional
     @Override
     public Ticket createTicket(CreateTicketRequest request) {
 
-        User customer = userRepository.findById(request.getCustomerId())
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
+        User customer = requireExisting(request.getCustomerId(), "Customer not found");
 
-        IssueCategory category = null;
+        CachedCategory category = null;
         if (request.getIssueCategoryId() != null) {
-            category = issueCategoryRepository.findById(request.getIssueCategoryId())
-                    .orElseThrow(() -> new RuntimeException("Issue category not found"));
+            category = issueCategoryService.findById(request.getIssueCategoryId());
         } else {
             // attempt simple auto-categorization by keywords
-            category = autoCategorize(request.getDescription());
+            category = categoryClassifier.classify(request.getDescription());
         }
 
         if (category == null) {
@@ -66,66 +121,25 @@ public class TicketServiceImpl implements TicketService {
 
         Ticket ticket = new Ticket();
         ticket.setCustomer(customer);
-        ticket.setIssueCategory(category);
+        // the cached category is a view; the ticket gets a reference by id, like its users
+        ticket.setIssueCategory(issueCategoryRepository.getReferenceById(category.getCategoryId()));
         ticket.setDescription(request.getDescription());
         ticket.setStatus(TicketStatus.NEW);
         ticket.setSlaStatus(SlaStatus.ON_TRACK);
 
         // Set initial SLA placeholders (DB requires non-null); actual SLA countdown
         // will be considered started only after manager assignment.
-        LocalDateTime now = LocalDateTime.now();
-        ticket.setSlaStartTime(now);
-        long slaHours = 168; // default to 7 days
-        if (category.getSlaHours() != null) {
-            slaHours = category.getSlaHours();
-        }
-        ticket.setSlaDueTime(now.plusHours(slaHours));
+        startSlaWindow(ticket, category.getSlaHours(), category.getSlaCalendarId(), LocalDateTime.now());
 
+        // the id comes from a pre-allocated block and the reference (T-000123) is derived from it on persist,
+        // so the ticket and its history row go out as single INSERTs, batched at commit
         Ticket savedTicket = ticketRepository.save(ticket);
 
-        // generate human-friendly ticket reference after we have the DB id
-        String ref = generateTicketReference(savedTicket.getTicketId());
-        savedTicket.setTicketReference(ref);
-        savedTicket = ticketRepository.save(savedTicket);
-
         logStatusChange(savedTicket, null, TicketStatus.NEW, customer);
+        publishChange(null, savedTicket);
         return savedTicket;
     }
 
-    // generate T-000123 style reference
-    private String generateTicketReference(Long id) {
-        if (id == null) return null;
-        return String.format("T-%06d", id);
-    }
-
-    // simple keyword matcher similar to frontend autoCategorize
-    private IssueCategory autoCategorize(String description) {
-        if (description == null || description.trim().length() < 4) return null;
-        String norm = description.toLowerCase().replaceAll("[^a-z0-9\\s]", " ");
-        String[] tokens = norm.split("\\s+");
-        List<IssueCategory> cats = issueCategoryRepository.findAll();
-        IssueCategory best = null;
-        double bestScore = 0;
-        for (IssueCategory c : cats) {
-            String pool = ((c.getCategoryName() == null ? "" : c.getCategoryName()) + " " + (c.getDescription() == null ? "" : c.getDescription())).toLowerCase();
-            double score = 0;
-            for (String t : tokens) {
-                if (t.length() <= 2) continue;
-                if (pool.contains(t)) score += 2;
-                // partial matches
-                String[] poolTokens = pool.split("\\s+");
-                for (String p : poolTokens) {
-                    if (p.contains(t) || t.contains(p)) score += 0.5;
-                }
-            }
-            if (score > bestScore) {
-                bestScore = score;
-                best = c;
-            }
-        }
-        return bestScore >= 1 ? best : null;
-    }
-
     // ================= ENGINEER SELF PICK =================
 
     @Transactional
@@ -140,14 +154,10 @@ public class TicketServiceImpl implements TicketService {
             throw new RuntimeException("Only NEW or ASSIGNED tickets can be picked");
         }
 
-        User engineer = userRepository.findById(engineerId)
-                .orElseThrow(() -> new RuntimeException("Engineer not found"));
-
-        if (engineer.getRole().getRoleName() != RoleName.ENGINEER) {
-            throw new RuntimeException("User is not an engineer");
-        }
+        User engineer = requireUser(engineerId, RoleName.ENGINEER, "Engineer not found", "User is not an engineer");
 
         TicketStatus oldStatus = ticket.getStatus();
+        TicketSnapshot before = TicketSnapshot.of(ticket);
 
         // If ticket was previously assigned to a specific engineer, ensure it matches
         if (oldStatus == TicketStatus.ASSIGNED && ticket.getAssignedEngineer() != null && !ticket.getAssignedEngineer().getUserId().equals(engineerId)) {
@@ -162,18 +172,15 @@ public class TicketServiceImpl implements TicketService {
         // If this ticket was not manager-assigned, starting work by engineer should
         // start the SLA countdown now.
         if (ticket.getAssignedByManager() == null) {
-            LocalDateTime now = LocalDateTime.now();
-            ticket.setSlaStartTime(now);
-            long slaHoursAssign = 168;
-            if (ticket.getIssueCategory() != null && ticket.getIssueCategory().getSlaHours() != null) slaHoursAssign = ticket.getIssueCategory().getSlaHours();
-            ticket.setSlaDueTime(now.plusHours(slaHoursAssign));
+            startSlaWindow(ticket, LocalDateTime.now());
             ticket.setSlaStatus(SlaStatus.ON_TRACK);
         }
 
         logStatusChange(ticket, oldStatus, TicketStatus.IN_PROGRESS, engineer);
-        return ticketRepository.save(ticket);
+        return publishChange(before, ticketRepository.save(ticket));
     }
 
+    @Transactional
     @Override
     public Ticket autoAssignTicket(Long ticketId) {
         Ticket ticket = ticketRepository.findById(ticketId)
@@ -182,109 +189,62 @@ public class TicketServiceImpl implements TicketService {
         if (ticket.getStatus() != TicketStatus.NEW) {
             throw new RuntimeException("Only NEW tickets can be auto-assigned");
         }
-        // Weighted heuristic: balance engineer load and SLA risk
-        List<User> engineers = userRepository.findByRole_RoleName(RoleName.ENGINEER);
-        if (engineers.isEmpty()) throw new RuntimeException("No engineers available");
-
-        User best = null;
-        double bestScore = Double.MAX_VALUE;
-
-        for (User eng : engineers) {
-            List<Ticket> assigned = ticketRepository.findByAssignedEngineer_UserId(eng.getUserId());
-            int openCount = 0;
-            int riskScore = 0;
-            for (Ticket t : assigned) {
-                // consider only open tickets
-                if (t.getStatus() != TicketStatus.CLOSED && t.getStatus() != TicketStatus.RESOLVED) openCount++;
-                if (t.getSlaStatus() == SlaStatus.BREACHED) riskScore += 3;
-                else if (t.getSlaStatus() == SlaStatus.AT_RISK) riskScore += 2;
-                else if (t.getSlaStatus() == SlaStatus.ON_TRACK) riskScore += 1;
-            }
-
-            // engineer base load weight
-            double loadWeight = openCount * 2.0;
-
-            // riskWeight increases score (we prefer engineers with lower risk)
-            double riskWeight = riskScore * 1.5;
-
-            // priority factor: prefer engineers who currently handle similar priority levels less
-            double priorityFactor = 0.0;
-            // if engineer has many HIGH priority tickets, increase factor
-            int highCount = (int) assigned.stream().filter(tt -> tt.getPriority() == Priority.HIGH).count();
-            priorityFactor = highCount * 1.0;
-
-            double score = loadWeight + riskWeight + priorityFactor + Math.random() * 0.1; // tiny jitter to break ties
-
-            System.out.println("AutoAssign: engineer=" + eng.getUsername() + " load=" + openCount + " risk=" + riskScore + " score=" + score);
-
-            if (score < bestScore) {
-                bestScore = score;
-                best = eng;
-            }
-        }
-
-        if (best == null) throw new RuntimeException("No engineer selected");
+        // Weighted heuristic over the in-memory load index: balance engineer load and SLA risk
+        Long bestId = engineerLoadIndex.leastLoadedEngineer()
+                .orElseThrow(() -> new RuntimeException("No engineers available"));
+        User best = requireExisting(bestId, "Engineer not found");
 
+        TicketSnapshot before = TicketSnapshot.of(ticket);
         ticket.setAssignedEngineer(best);
         ticket.setStatus(TicketStatus.ASSIGNED);
 
         // start SLA when system assigns
-        LocalDateTime now = LocalDateTime.now();
-        ticket.setSlaStartTime(now);
-        long slaHoursAssign = 168;
-        if (ticket.getIssueCategory() != null && ticket.getIssueCategory().getSlaHours() != null) slaHoursAssign = ticket.getIssueCategory().getSlaHours();
-        ticket.setSlaDueTime(now.plusHours(slaHoursAssign));
+        startSlaWindow(ticket, LocalDateTime.now());
         ticket.setSlaStatus(SlaStatus.ON_TRACK);
 
         logStatusChange(ticket, TicketStatus.NEW, TicketStatus.ASSIGNED, null);
-        return ticketRepository.save(ticket);
+        return publishChange(before, ticketRepository.save(ticket));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TicketSummary> getEngineerQueue(Long engineerId, int limit) {
+        // NEW tickets, ASSIGNED ones open to this engineer and their own IN_PROGRESS work: one index-ordered
+        // query per branch (see TicketRepository.QUEUE_ORDER), each limited, merged here in the same order
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Limit branchLimit = Limit.of(pageSize);
+        List<TicketSummary> queue = new ArrayList<>();
+        queue.addAll(ticketRepository.findQueueByStatus(TicketStatus.NEW, branchLimit));
+        queue.addAll(ticketRepository.findQueueByStatusUnassigned(TicketStatus.ASSIGNED, branchLimit));
+        queue.addAll(ticketRepository.findQueueByStatusAndEngineer(TicketStatus.ASSIGNED, engineerId, branchLimit));
+        queue.addAll(ticketRepository.findQueueByStatusAndEngineer(TicketStatus.IN_PROGRESS, engineerId, branchLimit));
+        queue.sort(QUEUE_ORDER);
+        return withSlaReadModel(queue.size() > pageSize ? new ArrayList<>(queue.subList(0, pageSize)) : queue);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UpcomingSlaEvent> getUpcomingSlaEvents(int minutes, int limit) {
+        // two index range scans over the persisted AT_RISK point and due time, see TicketRepository
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusMinutes(Math.max(0, minutes));
+
+        List<UpcomingSlaEvent> events = new ArrayList<>();
+        for (TicketSummary t : withSlaReadModel(ticketRepository.findTurningAtRiskBetween(now, until, Limit.of(pageSize)))) {
+            events.add(new UpcomingSlaEvent(t, SlaStatus.AT_RISK, slaCalculator.atRiskAt(t)));
+        }
+        for (TicketSummary t : withSlaReadModel(ticketRepository.findDueBetween(now, until, Limit.of(pageSize)))) {
+            events.add(new UpcomingSlaEvent(t, SlaStatus.BREACHED, t.getSlaDueTime()));
+        }
+        events.sort(Comparator.comparing(UpcomingSlaEvent::getAt));
+        return events.size() > pageSize ? events.subList(0, pageSize) : events;
     }
 
     @Override
-    public List<Ticket> getEngineerQueue(Long engineerId) {
-        // tickets available to pick: NEW, or ASSIGNED to this engineer or unassigned ASSIGNED
-        List<Ticket> candidates = ticketRepository.findByStatusNot(TicketStatus.CLOSED);
-
-        return candidates.stream()
-            .filter(t ->
-                // NEW tickets
-                t.getStatus() == TicketStatus.NEW
-                // ASSIGNED and available to this engineer (unassigned or assigned to them)
-                || (t.getStatus() == TicketStatus.ASSIGNED && (t.getAssignedEngineer() == null || t.getAssignedEngineer().getUserId().equals(engineerId)))
-                // IN_PROGRESS tickets assigned to this engineer
-                || (t.getStatus() == TicketStatus.IN_PROGRESS && t.getAssignedEngineer() != null && t.getAssignedEngineer().getUserId().equals(engineerId))
-            )
-                .sorted((a, b) -> {
-                    // SLA urgency: BREACHED > AT_RISK > ON_TRACK
-                    int sa = slaPriority(a.getSlaStatus());
-                    int sb = slaPriority(b.getSlaStatus());
-                    if (sa != sb) return Integer.compare(sb, sa);
-                    // priority: HIGH > MEDIUM > LOW
-                    int pa = priorityValue(a.getPriority());
-                    int pb = priorityValue(b.getPriority());
-                    if (pa != pb) return Integer.compare(pb, pa);
-                    return a.getSlaDueTime().compareTo(b.getSlaDueTime());
-                })
-                .toList();
-    }
-
-    private int slaPriority(SlaStatus s) {
-        if (s == null) return 0;
-        return switch (s) {
-            case BREACHED -> 3;
-            case AT_RISK -> 2;
-            case ON_TRACK -> 1;
-            default -> 0;
-        };
-    }
-
-    private int priorityValue(com.prodapt.network_ticketing.entity.enums.Priority p) {
-        if (p == null) return 0;
-        return switch (p) {
-            case HIGH -> 3;
-            case MEDIUM -> 2;
-            case LOW -> 1;
-        };
+    public List<SlaForecastHour> getSlaBreachForecast(int hours) {
+        // served from the in-memory due-hour buckets, see SlaBreachForecast
+        return slaBreachForecast.forecast(LocalDateTime.now(), Math.max(1, Math.min(hours, MAX_FORECAST_HOURS)));
     }
 
     // ================= MANAGER ASSIGN =================
@@ -295,21 +255,12 @@ public class TicketServiceImpl implements TicketService {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
-        User manager = userRepository.findById(managerId)
-                .orElseThrow(() -> new RuntimeException("Manager not found"));
-
-        if (manager.getRole().getRoleName() != RoleName.MANAGER) {
-            throw new RuntimeException("User is not a manager");
-        }
-
-        User engineer = userRepository.findById(engineerId)
-                .orElseThrow(() -> new RuntimeException("Engineer not found"));
+        User manager = requireUser(managerId, RoleName.MANAGER, "Manager not found", "User is not a manager");
 
-        if (engineer.getRole().getRoleName() != RoleName.ENGINEER) {
-            throw new RuntimeException("User is not an engineer");
-        }
+        User engineer = requireUser(engineerId, RoleName.ENGINEER, "Engineer not found", "User is not an engineer");
 
         TicketStatus oldStatus = ticket.getStatus();
+        TicketSnapshot before = TicketSnapshot.of(ticket);
 
         ticket.setAssignedEngineer(engineer);
         ticket.setAssignedByManager(manager);
@@ -319,25 +270,15 @@ public class TicketServiceImpl implements TicketService {
         ticket.setStatus(TicketStatus.ASSIGNED);
 
         // Start/Reset SLA when manager assigns the ticket
-        LocalDateTime now = LocalDateTime.now();
-        ticket.setSlaStartTime(now);
-        long slaHoursAssign = 168;
-        if (ticket.getIssueCategory() != null && ticket.getIssueCategory().getSlaHours() != null) {
-            slaHoursAssign = ticket.getIssueCategory().getSlaHours();
-        }
-        ticket.setSlaDueTime(now.plusHours(slaHoursAssign));
+        startSlaWindow(ticket, LocalDateTime.now());
         ticket.setSlaStatus(SlaStatus.ON_TRACK);
 
         logStatusChange(ticket, oldStatus, TicketStatus.ASSIGNED, manager);
 
-        Ticket savedTicket = ticketRepository.save(ticket);
+        Ticket savedTicket = publishChange(before, ticketRepository.save(ticket));
 
-        // Send ticket assignment email
-        try {
-            emailService.sendTicketAssignmentEmail(savedTicket);
-        } catch (Exception ex) {
-            System.err.println("Error sending assignment email: " + ex.getMessage());
-        }
+        // Ticket assignment email, sent once this commits
+        notificationOutbox.enqueue(NotificationType.TICKET_ASSIGNED, savedTicket);
 
         return savedTicket;
     }
@@ -356,12 +297,7 @@ public class TicketServiceImpl implements TicketService {
             throw new RuntimeException("Only IN_PROGRESS tickets can be resolved");
         }
 
-        User engineer = userRepository.findById(engineerId)
-                .orElseThrow(() -> new RuntimeException("Engineer not found"));
-
-        if (engineer.getRole().getRoleName() != RoleName.ENGINEER) {
-            throw new RuntimeException("User is not an engineer");
-        }
+        User engineer = requireUser(engineerId, RoleName.ENGINEER, "Engineer not found", "User is not an engineer");
 
         if (ticket.getAssignedEngineer() == null ||
                 !ticket.getAssignedEngineer().getUserId().equals(engineerId)) {
@@ -373,32 +309,62 @@ public class TicketServiceImpl implements TicketService {
         }
 
         TicketStatus oldStatus = ticket.getStatus();
+        TicketSnapshot before = TicketSnapshot.of(ticket);
 
         ticket.setResolutionSummary(resolutionSummary);
         ticket.setStatus(TicketStatus.RESOLVED);
 
         logStatusChange(ticket, oldStatus, TicketStatus.RESOLVED, engineer);
-        Ticket saved = ticketRepository.save(ticket);
+        Ticket saved = publishChange(before, ticketRepository.save(ticket));
 
         // Notify customer when ticket is resolved
-        try {
-            if (saved.getCustomer() != null && saved.getCustomer().getEmail() != null && !saved.getCustomer().getEmail().isBlank()) {
-                String to = saved.getCustomer().getEmail();
-                String subject = "Ticket " + (saved.getTicketReference() != null ? saved.getTicketReference() : ("T-" + saved.getTicketId())) + " - Resolved";
-                StringBuilder body = new StringBuilder();
-                body.append("Your ticket has been resolved.\n\n");
-                body.append("Resolution Summary:\n").append(saved.getResolutionSummary()).append("\n\n");
-                body.append("If you are satisfied, please close the ticket.\n");
-                emailService.sendSimpleEmail(to, subject, body.toString());
-            }
-        } catch (Exception ex) {
-            System.err.println("Failed to send resolution email: " + ex.getMessage());
-        }
+        notificationOutbox.enqueue(NotificationType.TICKET_RESOLVED, saved);
 
         return saved;
     }
 
 
+    // ================= ENGINEER HOLD / RESUME =================
+    // The SLA clock stops while a ticket waits on the customer. Only the start of the pause is stored;
+    // resuming pushes the due time and AT_RISK point back by the paused (working) time, so every reader
+    // keeps using sla_due_time / at_risk_at as the effective deadline.
+
+    @Transactional
+    @Override
+    public Ticket holdTicket(Long ticketId, Long engineerId) {
+
+        Ticket ticket = requireOwnTicket(ticketId, engineerId, TicketStatus.IN_PROGRESS,
+                "Only IN_PROGRESS tickets can be put on hold");
+        User engineer = requireUser(engineerId, RoleName.ENGINEER, "Engineer not found", "User is not an engineer");
+
+        TicketSnapshot before = TicketSnapshot.of(ticket);
+        LocalDateTime now = LocalDateTime.now();
+        ticket.setStatus(TicketStatus.ON_HOLD);
+        ticket.setSlaPausedAt(now);
+        ticket.setLastUpdatedAt(now);
+
+        logStatusChange(ticket, TicketStatus.IN_PROGRESS, TicketStatus.ON_HOLD, engineer);
+        return publishChange(before, ticketRepository.save(ticket));
+    }
+
+    @Transactional
+    @Override
+    public Ticket resumeTicket(Long ticketId, Long engineerId) {
+
+        Ticket ticket = requireOwnTicket(ticketId, engineerId, TicketStatus.ON_HOLD,
+                "Only ON_HOLD tickets can be resumed");
+        User engineer = requireUser(engineerId, RoleName.ENGINEER, "Engineer not found", "User is not an engineer");
+
+        TicketSnapshot before = TicketSnapshot.of(ticket);
+        LocalDateTime now = LocalDateTime.now();
+        endSlaPause(ticket, now);
+        ticket.setStatus(TicketStatus.IN_PROGRESS);
+        ticket.setLastUpdatedAt(now);
+
+        logStatusChange(ticket, TicketStatus.ON_HOLD, TicketStatus.IN_PROGRESS, engineer);
+        return publishChange(before, ticketRepository.save(ticket));
+    }
+
     // ================= CUSTOMER CLOSE =================
 
     @Transactional
@@ -408,29 +374,22 @@ public class TicketServiceImpl implements TicketService {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
-        User customer = userRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
-
-        if (customer.getRole().getRoleName() != RoleName.CUSTOMER) {
-            throw new RuntimeException("Only customer can close the ticket");
-        }
+        User customer = requireUser(customerId, RoleName.CUSTOMER, "Customer not found", "Only customer can close the ticket");
 
         if (ticket.getStatus() != TicketStatus.RESOLVED) {
             throw new RuntimeException("Only resolved tickets can be closed");
         }
 
+        TicketSnapshot before = TicketSnapshot.of(ticket);
+
         ticket.setStatus(TicketStatus.CLOSED);
         ticket.setClosedBy("CUSTOMER");
         ticket.setClosedAt(LocalDateTime.now());
 
-        Ticket savedTicket = ticketRepository.save(ticket);
+        Ticket savedTicket = publishChange(before, ticketRepository.save(ticket));
 
         // Send ticket completion email to customer
-        try {
-            emailService.sendTicketCompletionEmail(savedTicket);
-        } catch (Exception ex) {
-            System.err.println("Error sending completion email: " + ex.getMessage());
-        }
+        notificationOutbox.enqueue(NotificationType.TICKET_CLOSED, savedTicket);
 
         return savedTicket;
     }
@@ -450,12 +409,7 @@ public class TicketServiceImpl implements TicketService {
             throw new RuntimeException("Only RESOLVED tickets can be reopened");
         }
 
-        User customer = userRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
-
-        if (customer.getRole().getRoleName() != RoleName.CUSTOMER) {
-            throw new RuntimeException("User is not a customer");
-        }
+        User customer = requireUser(customerId, RoleName.CUSTOMER, "Customer not found", "User is not a customer");
 
         if (!ticket.getCustomer().getUserId().equals(customerId)) {
             throw new RuntimeException("Customer is not owner of this ticket");
@@ -466,6 +420,7 @@ public class TicketServiceImpl implements TicketService {
         }
 
         TicketStatus oldStatus = ticket.getStatus();
+        TicketSnapshot before = TicketSnapshot.of(ticket);
 
         ticket.setStatus(TicketStatus.REOPENED);
         ticket.setResolutionSummary(
@@ -474,35 +429,62 @@ public class TicketServiceImpl implements TicketService {
 
         logStatusChange(ticket, oldStatus, TicketStatus.REOPENED, customer);
 
-        return ticketRepository.save(ticket);
+        return publishChange(before, ticketRepository.save(ticket));
     }
 
     // ================= QUERIES =================
+    // Read-only: SLA status is computed for the response, persisting it is the SLA monitor's job.
 
     @Override
-    public List<Ticket> getTicketsForCustomer(Long customerId) {
-        List<Ticket> tickets = ticketRepository.findByCustomer_UserId(customerId);
-        tickets.forEach(this::refreshSlaStatusIfRequired);
-        return tickets;
+    @Transactional(readOnly = true)
+    public List<TicketSummary> getTicketsForCustomer(Long customerId) {
+        return withSlaReadModel(ticketRepository.findSummariesByCustomer(customerId));
     }
 
     @Override
-    public List<Ticket> getTicketsForEngineer(Long engineerId) {
-        List<Ticket> tickets = ticketRepository.findByAssignedEngineer_UserId(engineerId);
-        tickets.forEach(this::refreshSlaStatusIfRequired);
-        return tickets;
+    @Transactional(readOnly = true)
+    public List<TicketSummary> getTicketsForEngineer(Long engineerId) {
+        return withSlaReadModel(ticketRepository.findSummariesByEngineer(engineerId));
     }
 
     @Override
-    public List<Ticket> getAllTickets() {
-        List<Ticket> tickets = ticketRepository.findAll();
-        tickets.forEach(this::refreshSlaStatusIfRequired);
-        return tickets;
+    @Transactional(readOnly = true)
+    public List<TicketSummary> getAllTickets() {
+        return withSlaReadModel(ticketRepository.findAllSummaries(Limit.of(MAX_UNPAGED_TICKETS)));
     }
 
     @Override
-    public List<TicketStatusHistory> getTicketHistory(Long ticketId) {
-        return historyRepository.findByTicket_TicketId(ticketId);
+    @Transactional(readOnly = true)
+    public TicketPageResponse<TicketSummary> searchTickets(TicketSearchCriteria criteria, Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // fetch one extra row to learn whether another page exists without a COUNT(*)
+        List<TicketSummary> rows = ticketRepository.searchSummaries(criteria, cursor, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TicketSummary> page = withSlaReadModel(hasMore ? rows.subList(0, pageSize) : rows);
+
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getTicketId() : null;
+        return new TicketPageResponse<>(page, nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketDetail getTicketDetail(Long ticketId) {
+        Ticket ticket = ticketRepository.findDetailById(ticketId)
+                .orElseThrow(() -> new RuntimeException("Ticket not found"));
+        return toDetail(ticket);
+    }
+
+    @Override
+    public TicketDetail toDetail(Ticket ticket) {
+        return slaCalculator.applyReadModel(TicketDetail.from(ticket), LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TicketHistoryEntry> getTicketHistory(Long ticketId) {
+        return historyRepository.findEntriesByTicketId(ticketId);
     }
 
     // ================= HELPER =================
@@ -521,62 +503,90 @@ public class TicketServiceImpl implements TicketService {
 
         historyRepository.save(history);
     }
-    private SlaStatus calculateSlaStatus(Ticket ticket) {
 
-        LocalDateTime now = LocalDateTime.now();
+    // Acting user for a lifecycle step. When the id is the caller's own, the role comes from the token;
+    // otherwise from the short-TTL user cache, so a warm transition only queries the ticket.
+    private User requireUser(Long userId, RoleName role, String notFoundMessage, String wrongRoleMessage) {
+        Optional<AuthenticatedUser> caller = AuthenticatedUser.current().filter(p -> p.is(userId));
+        if (caller.isPresent() && caller.get().getRole() != role) {
+            throw new RuntimeException(wrongRoleMessage);
+        }
 
-        // If SLA has not been started by manager assignment, consider it ON_TRACK
-        if (ticket.getAssignedByManager() == null) {
-            // If engineer has started work (IN_PROGRESS), treat SLA as started
-            if (ticket.getStatus() != TicketStatus.IN_PROGRESS) {
-                return SlaStatus.ON_TRACK;
-            }
+        CachedUser user = userRepository.findCachedById(userId)
+                .orElseThrow(() -> new RuntimeException(notFoundMessage));
+
+        if (caller.isEmpty() && !user.hasRole(role)) {
+            throw new RuntimeException(wrongRoleMessage);
         }
+        return userRepository.getReferenceById(userId);
+    }
 
-        // Breached
-        if (now.isAfter(ticket.getSlaDueTime())) {
-            return SlaStatus.BREACHED;
+    // The cache only confirms the user exists; associations get a reference of this persistence context,
+    // never a shared instance
+    private User requireExisting(Long userId, String notFoundMessage) {
+        if (userRepository.findCachedById(userId).isEmpty()) {
+            throw new RuntimeException(notFoundMessage);
         }
+        return userRepository.getReferenceById(userId);
+    }
 
-        // Calculate SLA consumption %
-        long totalMinutes = java.time.Duration.between(ticket.getSlaStartTime(), ticket.getSlaDueTime()).toMinutes();
-        if (totalMinutes <= 0) return SlaStatus.ON_TRACK;
+    // (Re)starts the SLA window at now: slaHours of the category (7 days by default), counted in the
+    // category's business-hours calendar when it has one
+    private void startSlaWindow(Ticket ticket, LocalDateTime now) {
+        IssueCategory category = ticket.getIssueCategory();
+        startSlaWindow(ticket, category != null ? category.getSlaHours() : null,
+                category != null ? category.getSlaCalendarId() : null, now);
+    }
 
-        long usedMinutes = java.time.Duration.between(ticket.getSlaStartTime(), now).toMinutes();
+    private void startSlaWindow(Ticket ticket, Integer categorySlaHours, Long calendarId, LocalDateTime now) {
+        long slaHours = categorySlaHours != null ? categorySlaHours : SlaCalculator.DEFAULT_SLA_HOURS;
+        LocalDateTime due = slaCalendars.dueTime(calendarId, now, slaHours * 60);
+        ticket.setSlaPausedAt(null);
+        ticket.setSlaStartTime(now);
+        ticket.setSlaDueTime(due);
+        ticket.setAtRiskAt(slaCalendars.atRiskAt(calendarId, now, due));
+    }
 
-        double usageRatio = (double) usedMinutes / totalMinutes;
+    private Ticket requireOwnTicket(Long ticketId, Long engineerId, TicketStatus expected, String wrongStatusMessage) {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
-        // At risk if 80% SLA time used
-        if (usageRatio >= 0.8) {
-            return SlaStatus.AT_RISK;
+        if (ticket.getStatus() != expected) {
+            throw new RuntimeException(wrongStatusMessage);
         }
-
-        return SlaStatus.ON_TRACK;
+        if (ticket.getAssignedEngineer() == null ||
+                !ticket.getAssignedEngineer().getUserId().equals(engineerId)) {
+            throw new RuntimeException("Engineer is not assigned to this ticket");
+        }
+        return ticket;
     }
-    private void refreshSlaStatusIfRequired(Ticket ticket) {
 
-        // Do not update SLA for closed tickets
-        if (ticket.getStatus() == TicketStatus.CLOSED) {
-            return;
-        }
+    // Closes the current pause: the deadlines move back by the paused time (working time for calendar
+    // categories) and the wall-clock length is added to the ticket's running total
+    private void endSlaPause(Ticket ticket, LocalDateTime now) {
+        LocalDateTime pausedAt = ticket.getSlaPausedAt();
+        if (pausedAt == null) return;
+        IssueCategory category = ticket.getIssueCategory();
+        Long calendarId = category != null ? category.getSlaCalendarId() : null;
+
+        LocalDateTime atRiskAt = slaCalendars.shift(calendarId, ticket.getAtRiskAt(), pausedAt, now);
+        ticket.setSlaDueTime(slaCalendars.shift(calendarId, ticket.getSlaDueTime(), pausedAt, now));
+        ticket.setAtRiskAt(atRiskAt); // after the due setter, which recomputes the 24x7 value
+        ticket.setSlaPausedSeconds(ticket.getSlaPausedSeconds() + Math.max(0, Duration.between(pausedAt, now).getSeconds()));
+        ticket.setSlaPausedAt(null);
+    }
 
-        SlaStatus oldStatus = ticket.getSlaStatus();
-        SlaStatus newStatus = calculateSlaStatus(ticket);
-
-        if (oldStatus != newStatus) {
-            ticket.setSlaStatus(newStatus);
-            ticketRepository.save(ticket);
-
-            // notify when SLA becomes AT_RISK or BREACHED (manager + engineer only)
-            if (newStatus == SlaStatus.AT_RISK || newStatus == SlaStatus.BREACHED) {
-                try {
-                    emailService.sendSlaNotification(ticket, oldStatus, newStatus, false);
-                } catch (Exception ex) {
-                    System.err.println("Error sending SLA notification: " + ex.getMessage());
-                }
-            }
-        }
+    // let in-memory indexes (engineer load) apply the change once the transaction commits
+    private Ticket publishChange(TicketSnapshot before, Ticket saved) {
+        eventPublisher.publishEvent(new TicketChangedEvent(before, TicketSnapshot.of(saved)));
+        return saved;
     }
+    private <T extends TicketSummary> List<T> withSlaReadModel(List<T> tickets) {
+        LocalDateTime now = LocalDateTime.now();
+        tickets.forEach(t -> slaCalculator.applyReadModel(t, now));
+        return tickets;
+    }
+
     @Override
     public Ticket updatePriority(Long ticketId, String priorityStr) {
 
@@ -591,10 +601,11 @@ public class TicketServiceImpl implements TicketService {
             throw new RuntimeException("Invalid priority value: " + priorityStr);
         }
 
+        TicketSnapshot before = TicketSnapshot.of(ticket);
         ticket.setPriority(priority);
         ticket.setLastUpdatedAt(LocalDateTime.now());
 
-        return ticketRepository.save(ticket);
+        return publishChange(before, ticketRepository.save(ticket));
     }
 
     @Override
@@ -603,26 +614,20 @@ public class TicketServiceImpl implements TicketService {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
-        User engineer = userRepository.findById(engineerId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User engineer = requireExisting(engineerId, "User not found");
 
         TicketStatus oldStatus = ticket.getStatus();
+        TicketSnapshot before = TicketSnapshot.of(ticket);
         ticket.setAssignedEngineer(engineer);
         ticket.setStatus(TicketStatus.ASSIGNED);
 
         // Start/Reset SLA when engineer is assigned
-        LocalDateTime now = LocalDateTime.now();
-        ticket.setSlaStartTime(now);
-        long slaHoursAssign = 168;
-        if (ticket.getIssueCategory() != null && ticket.getIssueCategory().getSlaHours() != null) {
-            slaHoursAssign = ticket.getIssueCategory().getSlaHours();
-        }
-        ticket.setSlaDueTime(now.plusHours(slaHoursAssign));
+        startSlaWindow(ticket, LocalDateTime.now());
         ticket.setSlaStatus(SlaStatus.ON_TRACK);
 
         ticket.setLastUpdatedAt(LocalDateTime.now());
         logStatusChange(ticket, oldStatus, TicketStatus.ASSIGNED, engineer);
-        return ticketRepository.save(ticket);
+        return publishChange(before, ticketRepository.save(ticket));
     }
 
     @Override
@@ -630,15 +635,19 @@ public class TicketServiceImpl implements TicketService {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
 
+        TicketSnapshot before = TicketSnapshot.of(ticket);
         LocalDateTime now = LocalDateTime.now();
         ticket.setSlaStartTime(now);
         ticket.setSlaDueTime(now.plusMinutes(minutes));
         ticket.setSlaStatus(SlaStatus.ON_TRACK);
+        if (ticket.getSlaPausedAt() != null) {
+            ticket.setSlaPausedAt(now); // still on hold, the new window starts paused
+        }
 
         // log an informational history entry
         logStatusChange(ticket, ticket.getStatus(), ticket.getStatus(), null);
 
-        return ticketRepository.save(ticket);
+        return publishChange(before, ticketRepository.save(ticket));
     }
 
     @Override
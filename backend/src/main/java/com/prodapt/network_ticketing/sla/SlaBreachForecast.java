@@ -0,0 +1,164 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.dto.SlaForecastHour;
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.event.TicketChangedEvent;
+import com.prodapt.network_ticketing.event.TicketSnapshot;
+import com.prodapt.network_ticketing.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory count of the tickets heading for a breach, in one bucket per hour of their due time, split by
+ * category and engineer. A forecast for the next N hours is N map lookups and never touches the DB.
+ *
+ * A ticket counts while its SLA clock runs and it is not BREACHED yet. Like {@link
+ * com.prodapt.network_ticketing.service.EngineerLoadIndex}, committed {@link TicketChangedEvent}s are applied
+ * as deltas and the whole structure is rebuilt from one grouped query at startup and on a fixed delay, which
+ * also drops the hours that have passed and picks up changes made on other instances. As there, events that
+ * commit while the query runs are recorded and replayed onto the rebuilt buckets before they replace the live ones.
+ */
+@Component
+public class SlaBreachForecast {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaBreachForecast.class);
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private final TicketRepository ticketRepository;
+    private final SlaCalculator slaCalculator;
+
+    // due hour (hours on the server-local seconds line, as in WorkingTimeIndex) -> tickets due in it
+    // replaced as a whole by rebuild; deltas are applied under the lock of this forecast
+    private volatile Map<Long, HourBucket> buckets = new ConcurrentHashMap<>();
+
+    // one rebuild at a time; events that commit while one runs, to replay on its result (guarded by this)
+    private final Object rebuildLock = new Object();
+    private List<TicketChangedEvent> duringRebuild;
+
+    public SlaBreachForecast(TicketRepository ticketRepository, SlaCalculator slaCalculator) {
+        this.ticketRepository = ticketRepository;
+        this.slaCalculator = slaCalculator;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.sla.forecast.reconcile-ms:600000}",
+            initialDelayString = "${app.sla.forecast.reconcile-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                duringRebuild = new ArrayList<>();
+            }
+            try {
+                load();
+            } finally {
+                synchronized (this) {
+                    duringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private void load() {
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        Map<Long, HourBucket> fresh = new ConcurrentHashMap<>();
+        long tickets = 0;
+        for (Object[] row : ticketRepository.countHeadingForBreachByDueHour(from)) {
+            LocalDateTime hour = LocalDateTime.of(((Number) row[2]).intValue(), ((Number) row[3]).intValue(),
+                    ((Number) row[4]).intValue(), ((Number) row[5]).intValue(), 0);
+            long count = ((Number) row[6]).longValue();
+            fresh.computeIfAbsent(hourOf(hour), h -> new HourBucket()).add((Long) row[0], (Long) row[1], count);
+            tickets += count;
+        }
+        synchronized (this) {
+            // at worst a change that committed just before the query started is counted twice until the next run
+            for (TicketChangedEvent event : duringRebuild) {
+                apply(fresh, event);
+            }
+            buckets = fresh;
+        }
+        log.debug("SLA breach forecast rebuilt: {} tickets in {} due hours", tickets, fresh.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTicketChanged(TicketChangedEvent event) {
+        apply(buckets, event);
+        if (duringRebuild != null) duringRebuild.add(event);
+    }
+
+    /**
+     * Breaches expected in each of the given number of hours, starting with the current one.
+     */
+    public List<SlaForecastHour> forecast(LocalDateTime now, int hours) {
+        Map<Long, HourBucket> current = buckets;
+        long first = hourOf(now);
+        List<SlaForecastHour> forecast = new ArrayList<>(hours);
+        for (long h = first; h < first + hours; h++) {
+            HourBucket bucket = current.get(h);
+            LocalDateTime hour = LocalDateTime.ofEpochSecond(h * SECONDS_PER_HOUR, 0, ZoneOffset.UTC);
+            forecast.add(bucket == null ? new SlaForecastHour(hour, 0, Map.of(), Map.of()) : bucket.toForecast(hour));
+        }
+        return forecast;
+    }
+
+    private void apply(Map<Long, HourBucket> target, TicketChangedEvent event) {
+        apply(target, event.getBefore(), -1);
+        apply(target, event.getAfter(), 1);
+    }
+
+    private void apply(Map<Long, HourBucket> target, TicketSnapshot ticket, long delta) {
+        if (ticket == null || ticket.getSlaStatus() == SlaStatus.BREACHED || !slaCalculator.isClockRunning(ticket)) {
+            return;
+        }
+        target.computeIfAbsent(hourOf(ticket.getSlaDueTime()), h -> new HourBucket())
+                .add(ticket.getCategoryId(), ticket.getEngineerId(), delta);
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_HOUR);
+    }
+
+    // tickets without a category or engineer only count in the total
+    private static final class HourBucket {
+        private final AtomicLong total = new AtomicLong();
+        private final Map<Long, AtomicLong> byCategory = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> byEngineer = new ConcurrentHashMap<>();
+
+        private void add(Long categoryId, Long engineerId, long delta) {
+            total.addAndGet(delta);
+            if (categoryId != null) byCategory.computeIfAbsent(categoryId, id -> new AtomicLong()).addAndGet(delta);
+            if (engineerId != null) byEngineer.computeIfAbsent(engineerId, id -> new AtomicLong()).addAndGet(delta);
+        }
+
+        private SlaForecastHour toForecast(LocalDateTime hour) {
+            return new SlaForecastHour(hour, total.get(), nonZero(byCategory), nonZero(byEngineer));
+        }
+
+        private static Map<Long, Long> nonZero(Map<Long, AtomicLong> counts) {
+            Map<Long, Long> result = new TreeMap<>();
+            counts.forEach((id, count) -> {
+                long value = count.get();
+                if (value != 0) result.put(id, value);
+            });
+            return result;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.entity.Ticket;
+import com.prodapt.network_ticketing.entity.enums.NotificationType;
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.event.TicketChangedEvent;
+import com.prodapt.network_ticketing.event.TicketSnapshot;
+import com.prodapt.network_ticketing.notification.NotificationOutbox;
+import com.prodapt.network_ticketing.repository.TicketRepository;
+import com.prodapt.network_ticketing.service.SlaAlertService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Set-based form of the SLA sweep: the BREACHED and AT_RISK rules run as SQL.
+ *
+ * MySQL has no UPDATE ... RETURNING, so each transition locks its candidate rows
+ * (SELECT ... FOR UPDATE) and updates exactly those ids in one statement. Only the affected
+ * tickets are then loaded, in the same transaction, to queue their alerts in the outbox and
+ * publish change events, which the listeners receive once it commits.
+ */
+@Component
+public class SlaBulkTransitions {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaBulkTransitions.class);
+
+    // keeps IN (...) lists to a size every driver and optimizer handles well
+    private static final int ID_BATCH = 1000;
+
+    private final TicketRepository ticketRepository;
+    private final SlaAlertService slaAlertService;
+    private final NotificationOutbox notificationOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final SlaPartitionLeases partitionLeases;
+
+    public SlaBulkTransitions(TicketRepository ticketRepository, SlaAlertService slaAlertService,
+                              NotificationOutbox notificationOutbox, ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager, SlaPartitionLeases partitionLeases) {
+        this.ticketRepository = ticketRepository;
+        this.slaAlertService = slaAlertService;
+        this.notificationOutbox = notificationOutbox;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionLeases = partitionLeases;
+    }
+
+    /**
+     * Applies all due transitions as of now to the tickets in this node's partitions.
+     * Returns the number of tickets transitioned.
+     */
+    public int run(LocalDateTime now) {
+        Set<Integer> owned = partitionLeases.ownedPartitions();
+        if (owned.isEmpty()) return 0;
+        int partitions = partitionLeases.partitionCount();
+
+        // breach first, so a ticket past due never gets an AT_RISK warning in the same run
+        int breached = markBreached(now, partitions, owned);
+        if (!partitionLeases.ownedPartitions().containsAll(owned)) {
+            log.warn("SLA partitions changed during set-based transitions, skipping AT_RISK until the next run");
+            return breached;
+        }
+        int atRisk = markAtRisk(now, partitions, owned);
+        log.debug("Set-based SLA transitions: breached={} atRisk={}", breached, atRisk);
+        return breached + atRisk;
+    }
+
+    private int markBreached(LocalDateTime now, int partitions, Set<Integer> owned) {
+        Map<Long, SlaStatus> previous = transactionTemplate.execute(status -> {
+            Map<Long, SlaStatus> locked = new LinkedHashMap<>();
+            for (Object[] row : ticketRepository.lockBreachCandidates(now, partitions, owned)) {
+                locked.put((Long) row[0], (SlaStatus) row[1]);
+            }
+            for (List<Long> batch : partition(new ArrayList<>(locked.keySet()))) {
+                ticketRepository.markBreached(batch, now);
+            }
+            // 🚨 SLA breach alert (ONE TIME ONLY per SLA window, see NotificationLedger)
+            alertAndPublish(locked, slaAlertService::sendSlaBreachAlert);
+            return locked;
+        });
+        return previous == null ? 0 : previous.size();
+    }
+
+    private int markAtRisk(LocalDateTime now, int partitions, Set<Integer> owned) {
+        Map<Long, SlaStatus> previous = transactionTemplate.execute(status -> {
+            Map<Long, SlaStatus> locked = new LinkedHashMap<>();
+            for (Object[] row : ticketRepository.lockAtRiskCandidates(now, partitions, owned)) {
+                locked.put((Long) row[0], (SlaStatus) row[1]);
+            }
+            for (List<Long> batch : partition(new ArrayList<>(locked.keySet()))) {
+                ticketRepository.markAtRisk(batch, now);
+            }
+            // 80% SLA warning
+            alertAndPublish(locked, ticket -> notificationOutbox.enqueue(NotificationType.SLA_WARNING, ticket));
+            return locked;
+        });
+        return previous == null ? 0 : previous.size();
+    }
+
+    // loads the updated tickets for alerting and tells the in-memory indexes what changed (on commit)
+    private void alertAndPublish(Map<Long, SlaStatus> previous, Consumer<Ticket> alert) {
+        if (previous.isEmpty()) return;
+        for (List<Long> batch : partition(new ArrayList<>(previous.keySet()))) {
+            for (Ticket ticket : ticketRepository.findWithContactsByIdIn(batch)) {
+                alert.accept(ticket);
+                TicketSnapshot after = TicketSnapshot.of(ticket);
+                TicketSnapshot before = after.withSlaStatus(previous.get(ticket.getTicketId()));
+                eventPublisher.publishEvent(new TicketChangedEvent(before, after));
+            }
+        }
+    }
+
+    private static List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> batches = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += ID_BATCH) {
+            batches.add(ids.subList(i, Math.min(i + ID_BATCH, ids.size())));
+        }
+        return batches;
+    }
+}
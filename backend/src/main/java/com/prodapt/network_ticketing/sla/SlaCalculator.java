@@ -0,0 +1,145 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.dto.TicketSummary;
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Single source of truth for SLA math. Pure and side-effect free: callers decide
+ * whether a computed status is persisted (SLA monitor) or only shown (read path).
+ *
+ * Business hours only matter where windows are set and for remaining time ({@link SlaCalendars});
+ * the AT_RISK point is stored on the ticket, so status evaluation is plain comparisons.
+ */
+@Component
+public class SlaCalculator {
+
+    // a ticket is AT_RISK once this share of its SLA window has elapsed
+    public static final double AT_RISK_RATIO = 0.8;
+
+    // SLA of tickets whose category does not set slaHours
+    public static final int DEFAULT_SLA_HOURS = 168; // 7 days
+
+    private final SlaCalendars slaCalendars;
+
+    public SlaCalculator(SlaCalendars slaCalendars) {
+        this.slaCalendars = slaCalendars;
+    }
+
+    /**
+     * The clock runs once a manager has assigned the ticket or an engineer has started
+     * work on it, pauses while the ticket is on hold, and stops for good when it is resolved or closed.
+     */
+    public boolean isClockRunning(SlaSubject ticket) {
+        TicketStatus status = ticket.getStatus();
+        if (status == TicketStatus.RESOLVED || status == TicketStatus.CLOSED) {
+            return false;
+        }
+        if (ticket.getSlaPausedAt() != null) {
+            return false;
+        }
+        if (ticket.getSlaStartTime() == null || ticket.getSlaDueTime() == null) {
+            return false;
+        }
+        return ticket.hasManagerAssignment() || status == TicketStatus.IN_PROGRESS;
+    }
+
+    public SlaStatus evaluate(SlaSubject ticket, LocalDateTime now) {
+        TicketStatus status = ticket.getStatus();
+        if (status == TicketStatus.RESOLVED || status == TicketStatus.CLOSED || ticket.getSlaPausedAt() != null) {
+            // frozen at whatever it was when work finished or was put on hold
+            return ticket.getSlaStatus() != null ? ticket.getSlaStatus() : SlaStatus.ON_TRACK;
+        }
+        if (!isClockRunning(ticket)) {
+            return SlaStatus.ON_TRACK;
+        }
+
+        if (now.isAfter(ticket.getSlaDueTime())) {
+            return SlaStatus.BREACHED;
+        }
+
+        LocalDateTime atRiskAt = atRiskAt(ticket);
+        if (atRiskAt != null && !now.isBefore(atRiskAt)) {
+            return SlaStatus.AT_RISK;
+        }
+        return SlaStatus.ON_TRACK;
+    }
+
+    /**
+     * First moment evaluate() reports AT_RISK: the persisted point, or for rows without one the 24x7 value.
+     * Null when the window is too short to have one.
+     */
+    public LocalDateTime atRiskAt(SlaSubject ticket) {
+        if (ticket.getAtRiskAt() != null) return ticket.getAtRiskAt();
+        return atRiskAt(ticket.getSlaStartTime(), ticket.getSlaDueTime());
+    }
+
+    /**
+     * The 24x7 AT_RISK point of an SLA window: the elapsed whole minutes reach AT_RISK_RATIO of it.
+     * Null for a window shorter than a minute, which goes straight from ON_TRACK to BREACHED.
+     */
+    public static LocalDateTime atRiskAt(LocalDateTime slaStartTime, LocalDateTime slaDueTime) {
+        if (slaStartTime == null || slaDueTime == null) return null;
+        long totalMinutes = Duration.between(slaStartTime, slaDueTime).toMinutes();
+        if (totalMinutes <= 0) return null;
+        return slaStartTime.plusMinutes((long) Math.ceil(totalMinutes * AT_RISK_RATIO));
+    }
+
+    /**
+     * When the persisted SLA status of a ticket next needs to change: now if it is already stale,
+     * the AT_RISK point while ON_TRACK, just past the due time while AT_RISK, or null if it never will
+     * (clock stopped or already BREACHED).
+     */
+    public LocalDateTime nextTransitionAt(SlaSubject ticket, LocalDateTime now) {
+        if (!isClockRunning(ticket)) return null;
+
+        SlaStatus persisted = ticket.getSlaStatus() != null ? ticket.getSlaStatus() : SlaStatus.ON_TRACK;
+        if (evaluate(ticket, now) != persisted) return now;
+
+        // evaluate() treats the due time itself as not yet breached
+        LocalDateTime breachAt = ticket.getSlaDueTime().plusNanos(1_000_000);
+        switch (persisted) {
+            case BREACHED:
+                return null;
+            case AT_RISK:
+                return breachAt;
+            default:
+                LocalDateTime atRiskAt = atRiskAt(ticket);
+                return atRiskAt != null ? atRiskAt : breachAt;
+        }
+    }
+
+    /**
+     * Minutes left until the SLA is due (negative once breached), frozen while the ticket is on hold,
+     * or null while the clock is not running. The due time already includes finished pauses, so this is O(1).
+     */
+    public Long remainingMinutes(SlaSubject ticket, LocalDateTime now) {
+        if (ticket.getSlaPausedAt() == null && !isClockRunning(ticket)) return null;
+        return Duration.between(clockTime(ticket, now), ticket.getSlaDueTime()).toMinutes();
+    }
+
+    // the moment the SLA clock reads: now, or where it stopped when the ticket went on hold
+    private static LocalDateTime clockTime(SlaSubject ticket, LocalDateTime now) {
+        return ticket.getSlaPausedAt() != null ? ticket.getSlaPausedAt() : now;
+    }
+
+    /**
+     * Fills the read-only SLA fields of a ticket view about to be returned by the API. Remaining time is in
+     * working minutes when the ticket's category has an SLA calendar.
+     */
+    public <T extends TicketSummary> T applyReadModel(T ticket, LocalDateTime now) {
+        ticket.setEffectiveSlaStatus(evaluate(ticket, now));
+        Long calendarId = ticket.getIssueCategory() != null
+                ? slaCalendars.calendarOfCategory(ticket.getIssueCategory().getCategoryId()) : null;
+        Long remaining = remainingMinutes(ticket, now);
+        if (remaining != null && calendarId != null) {
+            remaining = slaCalendars.minutesBetween(calendarId, clockTime(ticket, now), ticket.getSlaDueTime());
+        }
+        ticket.setSlaRemainingMinutes(remaining);
+        return ticket;
+    }
+}
@@ -0,0 +1,244 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.entity.IssueCategory;
+import com.prodapt.network_ticketing.entity.SlaCalendar;
+import com.prodapt.network_ticketing.repository.IssueCategoryRepository;
+import com.prodapt.network_ticketing.repository.SlaCalendarRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Business-hours SLA math. Every calendar is compiled into a {@link WorkingTimeIndex} covering
+ * past-days .. future-days around today, so due times and remaining working time are binary searches.
+ * A query outside that range compiles a wider index once and keeps it.
+ *
+ * Calendar id null means 24x7: plain wall-clock arithmetic, exactly as before calendars existed.
+ * Rebuilt at startup and whenever calendars or categories change.
+ */
+@Component
+public class SlaCalendars {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaCalendars.class);
+
+    private final SlaCalendarRepository calendarRepository;
+    private final IssueCategoryRepository categoryRepository;
+    private final int pastDays;
+    private final int futureDays;
+
+    private volatile State state;
+
+    public SlaCalendars(SlaCalendarRepository calendarRepository, IssueCategoryRepository categoryRepository,
+                        @Value("${app.sla.calendar.past-days:400}") int pastDays,
+                        @Value("${app.sla.calendar.future-days:1100}") int futureDays) {
+        this.calendarRepository = calendarRepository;
+        this.categoryRepository = categoryRepository;
+        this.pastDays = pastDays;
+        this.futureDays = futureDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDate today = LocalDate.now();
+        Map<Long, Compiled> calendars = new HashMap<>();
+        for (SlaCalendar calendar : calendarRepository.findAll()) {
+            Compiled compiled = new Compiled(calendar);
+            compiled.index = compiled.compile(today.minusDays(pastDays), today.plusDays(futureDays));
+            if (!compiled.index.hasWorkingTime()) {
+                log.warn("SLA calendar {} has no working time, its categories run 24x7", calendar.getName());
+                continue;
+            }
+            calendars.put(calendar.getCalendarId(), compiled);
+        }
+
+        Map<Long, Long> calendarOfCategory = new HashMap<>();
+        for (IssueCategory category : categoryRepository.findAll()) {
+            if (category.getSlaCalendarId() != null && calendars.containsKey(category.getSlaCalendarId())) {
+                calendarOfCategory.put(category.getCategoryId(), category.getSlaCalendarId());
+            }
+        }
+
+        state = new State(calendars, calendarOfCategory);
+        log.info("Compiled {} SLA calendars used by {} categories", calendars.size(), calendarOfCategory.size());
+    }
+
+    /**
+     * Calendar the SLA of a category counts in, or null for 24x7.
+     */
+    public Long calendarOfCategory(Long categoryId) {
+        return categoryId == null ? null : state().calendarOfCategory.get(categoryId);
+    }
+
+    /**
+     * When an SLA of the given length that starts at start falls due.
+     */
+    public LocalDateTime dueTime(Long calendarId, LocalDateTime start, long slaMinutes) {
+        Compiled calendar = calendar(calendarId);
+        if (calendar == null) return start.plusMinutes(slaMinutes);
+        return calendar.plusWorkingSeconds(start, slaMinutes * 60);
+    }
+
+    /**
+     * The AT_RISK point of a window: AT_RISK_RATIO of its working minutes (rounded up) after start.
+     * For 24x7 this is {@link SlaCalculator#atRiskAt(LocalDateTime, LocalDateTime)}.
+     */
+    public LocalDateTime atRiskAt(Long calendarId, LocalDateTime start, LocalDateTime due) {
+        Compiled calendar = calendar(calendarId);
+        if (calendar == null) return SlaCalculator.atRiskAt(start, due);
+        long totalMinutes = calendar.index(start, due).workingSecondsBetween(start, due) / 60;
+        if (totalMinutes <= 0) return null;
+        long atRiskMinutes = (long) Math.ceil(totalMinutes * SlaCalculator.AT_RISK_RATIO);
+        return calendar.plusWorkingSeconds(start, atRiskMinutes * 60);
+    }
+
+    /**
+     * Working minutes from one time to another (negative once to has passed).
+     */
+    public long minutesBetween(Long calendarId, LocalDateTime from, LocalDateTime to) {
+        Compiled calendar = calendar(calendarId);
+        if (calendar == null) return Duration.between(from, to).toMinutes();
+        return calendar.index(from, to).workingSecondsBetween(from, to) / 60;
+    }
+
+    /**
+     * The calendar as it is compiled now. It keeps measuring in this definition after the calendar is
+     * updated and rebuilt, which is what a recalculation needs to read the old windows.
+     */
+    public Clock clock(Long calendarId) {
+        return new Clock(calendar(calendarId));
+    }
+
+    /**
+     * Pushes a deadline back by a pause: the time that was left on the clock at pausedFrom is left again at
+     * pausedTo. Deadlines that had already passed when the pause began stay where they are.
+     */
+    public LocalDateTime shift(Long calendarId, LocalDateTime time, LocalDateTime pausedFrom, LocalDateTime pausedTo) {
+        if (time == null || !time.isAfter(pausedFrom) || !pausedTo.isAfter(pausedFrom)) return time;
+        Compiled calendar = calendar(calendarId);
+        if (calendar == null) return time.plus(Duration.between(pausedFrom, pausedTo));
+        long left = calendar.index(pausedFrom, time).workingSecondsBetween(pausedFrom, time);
+        return calendar.plusWorkingSeconds(pausedTo, left);
+    }
+
+    private Compiled calendar(Long calendarId) {
+        return calendarId == null ? null : state().calendars.get(calendarId);
+    }
+
+    private State state() {
+        State current = state;
+        if (current == null) {
+            synchronized (this) {
+                if (state == null) rebuild();
+                current = state;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Working time in one fixed version of a calendar; 24x7 when it has none.
+     */
+    public static final class Clock {
+        private final Compiled calendar;
+
+        private Clock(Compiled calendar) {
+            this.calendar = calendar;
+        }
+
+        public long minutesBetween(LocalDateTime from, LocalDateTime to) {
+            if (calendar == null) return Duration.between(from, to).toMinutes();
+            return calendar.index(from, to).workingSecondsBetween(from, to) / 60;
+        }
+    }
+
+    private static final class State {
+        private final Map<Long, Compiled> calendars;
+        private final Map<Long, Long> calendarOfCategory;
+
+        private State(Map<Long, Compiled> calendars, Map<Long, Long> calendarOfCategory) {
+            this.calendars = calendars;
+            this.calendarOfCategory = calendarOfCategory;
+        }
+    }
+
+    private static final class Compiled {
+        private final LocalTime dayStart;
+        private final LocalTime dayEnd;
+        private final Set<DayOfWeek> workingDays;
+        private final Set<LocalDate> holidays;
+        private volatile WorkingTimeIndex index;
+
+        private Compiled(SlaCalendar calendar) {
+            this.dayStart = calendar.getWorkdayStart();
+            this.dayEnd = calendar.getWorkdayEnd();
+            this.workingDays = parseDays(calendar.getWorkingDays());
+            this.holidays = new HashSet<>(calendar.getHolidays());
+        }
+
+        private WorkingTimeIndex compile(LocalDate from, LocalDate to) {
+            return WorkingTimeIndex.compile(dayStart, dayEnd, workingDays, holidays, from, to);
+        }
+
+        // the compiled index, widened (by doubling) until it covers both times
+        private WorkingTimeIndex index(LocalDateTime a, LocalDateTime b) {
+            WorkingTimeIndex current = index;
+            if (current.covers(a) && current.covers(b)) return current;
+            synchronized (this) {
+                current = index;
+                LocalDate from = min(current.getFrom(), a.toLocalDate(), b.toLocalDate());
+                LocalDate to = max(current.getTo(), a.toLocalDate().plusDays(1), b.toLocalDate().plusDays(1));
+                if (!from.equals(current.getFrom()) || !to.equals(current.getTo())) {
+                    current = compile(from, to);
+                    index = current;
+                    log.info("Widened SLA calendar index to {} .. {}", from, to);
+                }
+                return current;
+            }
+        }
+
+        private LocalDateTime plusWorkingSeconds(LocalDateTime start, long workingSeconds) {
+            WorkingTimeIndex current = index(start, start);
+            LocalDateTime result = current.plusWorkingSeconds(start, workingSeconds);
+            while (result == null) {
+                // beyond the compiled range: double the span ahead of start and retry
+                long span = Math.max(1, current.getTo().toEpochDay() - current.getFrom().toEpochDay());
+                current = index(start, current.getTo().plusDays(span).atStartOfDay());
+                result = current.plusWorkingSeconds(start, workingSeconds);
+            }
+            return result;
+        }
+
+        private static Set<DayOfWeek> parseDays(String days) {
+            Set<DayOfWeek> parsed = EnumSet.noneOf(DayOfWeek.class);
+            if (days == null) return parsed;
+            for (String day : days.split(",")) {
+                if (!day.isBlank()) parsed.add(DayOfWeek.valueOf(day.trim().toUpperCase()));
+            }
+            return parsed;
+        }
+
+        private static LocalDate min(LocalDate a, LocalDate b, LocalDate c) {
+            LocalDate m = a.isBefore(b) ? a : b;
+            return m.isBefore(c) ? m : c;
+        }
+
+        private static LocalDate max(LocalDate a, LocalDate b, LocalDate c) {
+            LocalDate m = a.isAfter(b) ? a : b;
+            return m.isAfter(c) ? m : c;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.entity.Ticket;
+import com.prodapt.network_ticketing.event.SlaPartitionsAssignedEvent;
+import com.prodapt.network_ticketing.event.TicketChangedEvent;
+import com.prodapt.network_ticketing.event.TicketSnapshot;
+import com.prodapt.network_ticketing.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Fires SLA transitions (ON_TRACK -> AT_RISK -> BREACHED) when they fall due instead of polling.
+ *
+ * Every open ticket with a running clock has one pending deadline, its next transition time
+ * (see {@link SlaCalculator#nextTransitionAt}), kept in a set ordered by (fire time, ticket id). A single
+ * task on the TaskScheduler is armed for the earliest deadline. The set is seeded from the DB at startup
+ * and kept current from committed {@link TicketChangedEvent}s; re-tracking a ticket replaces its entry,
+ * so the set never holds more than one deadline per open ticket however often the sweep re-tracks it.
+ *
+ * Deadlines are tracked for every ticket, but only those in partitions this node leases are processed
+ * (see {@link SlaPartitionLeases}); when the node takes over partitions their tickets are re-read, since
+ * changes made through other instances never reached this queue.
+ */
+@Component
+public class SlaDeadlineEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaDeadlineEngine.class);
+
+    private final TicketRepository ticketRepository;
+    private final SlaCalculator slaCalculator;
+    private final SlaStatusUpdater slaStatusUpdater;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final SlaPartitionLeases partitionLeases;
+
+    private final TreeSet<Deadline> queue =
+            new TreeSet<>(Comparator.comparing((Deadline d) -> d.fireAt).thenComparing(d -> d.ticketId));
+    private final Map<Long, Deadline> pending = new HashMap<>();
+    private ScheduledFuture<?> wakeup;
+    private LocalDateTime wakeupAt;
+
+    public SlaDeadlineEngine(TicketRepository ticketRepository, SlaCalculator slaCalculator,
+                             SlaStatusUpdater slaStatusUpdater, TaskScheduler taskScheduler,
+                             PlatformTransactionManager transactionManager, SlaPartitionLeases partitionLeases) {
+        this.ticketRepository = ticketRepository;
+        this.slaCalculator = slaCalculator;
+        this.slaStatusUpdater = slaStatusUpdater;
+        this.taskScheduler = taskScheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionLeases = partitionLeases;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        List<TicketSnapshot> open = ticketRepository.findOpenSnapshots();
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            for (TicketSnapshot ticket : open) {
+                // an event that arrived while we were loading is newer than the seed row
+                if (!pending.containsKey(ticket.getTicketId())) {
+                    enqueue(ticket.getTicketId(), slaCalculator.nextTransitionAt(ticket, now));
+                }
+            }
+            rearm();
+        }
+        log.info("SLA deadline engine tracking {} of {} open tickets", pendingCount(), open.size());
+    }
+
+    // published on the lease heartbeat thread, which must get back to renewing: the reload runs on the scheduler
+    @EventListener
+    public void onPartitionsAssigned(SlaPartitionsAssignedEvent event) {
+        taskScheduler.schedule(() -> reload(event), Instant.now());
+    }
+
+    private void reload(SlaPartitionsAssignedEvent event) {
+        List<TicketSnapshot> open = ticketRepository.findOpenSnapshotsInPartitions(
+                event.getPartitionCount(), event.getPartitions());
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            for (TicketSnapshot ticket : open) {
+                enqueue(ticket.getTicketId(), slaCalculator.nextTransitionAt(ticket, now));
+            }
+            rearm();
+        }
+        log.info("SLA deadline engine re-read {} open tickets of partitions {}", open.size(), event.getPartitions());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        track(event.getAfter());
+    }
+
+    /**
+     * (Re)schedules the next transition of a ticket from its current state, or forgets it if there is none.
+     */
+    public synchronized void track(TicketSnapshot ticket) {
+        if (ticket == null) return;
+        enqueue(ticket.getTicketId(), slaCalculator.nextTransitionAt(ticket, LocalDateTime.now()));
+        rearm();
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    public synchronized LocalDateTime nextDeadline() {
+        return queue.isEmpty() ? null : queue.first().fireAt;
+    }
+
+    // ================= FIRING =================
+
+    private void fire() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = new ArrayList<>();
+        synchronized (this) {
+            wakeup = null;
+            wakeupAt = null;
+            while (!queue.isEmpty() && !queue.first().fireAt.isAfter(now)) {
+                Deadline d = queue.pollFirst();
+                pending.remove(d.ticketId);
+                due.add(d.ticketId);
+            }
+        }
+
+        try {
+            if (!due.isEmpty()) process(due, now);
+        } catch (Exception ex) {
+            log.error("SLA deadline processing failed for tickets {}: {}", due, ex.getMessage());
+        } finally {
+            synchronized (this) {
+                rearm();
+            }
+        }
+    }
+
+    private void process(List<Long> dueIds, LocalDateTime now) {
+        // another node handles the rest; if this node takes their partitions over later they are re-read
+        List<Long> ticketIds = dueIds.stream().filter(partitionLeases::owns).toList();
+        if (ticketIds.isEmpty()) return;
+        log.debug("SLA deadlines due for tickets {}", ticketIds);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Ticket ticket : ticketRepository.findAllById(ticketIds)) {
+                boolean changed = slaStatusUpdater.update(ticket, now);
+                // a transition publishes an event that schedules the next deadline; otherwise do it here
+                // (e.g. fired a moment early because of minute rounding)
+                if (!changed) track(TicketSnapshot.of(ticket));
+            }
+        });
+    }
+
+    // ================= QUEUE (caller holds the lock) =================
+
+    private void enqueue(Long ticketId, LocalDateTime fireAt) {
+        Deadline current = pending.get(ticketId);
+        if (current != null && Objects.equals(current.fireAt, fireAt)) return; // unchanged, e.g. re-tracked by the sweep
+
+        if (current != null) {
+            pending.remove(ticketId);
+            queue.remove(current);
+        }
+        if (fireAt == null) return;
+        Deadline d = new Deadline(ticketId, fireAt);
+        pending.put(ticketId, d);
+        queue.add(d);
+    }
+
+    // make sure exactly one wake-up is armed, at the earliest pending deadline
+    private void rearm() {
+        if (queue.isEmpty()) {
+            if (wakeup != null) wakeup.cancel(false);
+            wakeup = null;
+            wakeupAt = null;
+            return;
+        }
+
+        LocalDateTime head = queue.first().fireAt;
+        if (wakeup != null && wakeupAt != null && !wakeupAt.isAfter(head)) return;
+
+        if (wakeup != null) wakeup.cancel(false);
+        wakeupAt = head;
+        wakeup = taskScheduler.schedule(this::fire, head.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static final class Deadline {
+        private final Long ticketId;
+        private final LocalDateTime fireAt;
+
+        private Deadline(Long ticketId, LocalDateTime fireAt) {
+            this.ticketId = ticketId;
+            this.fireAt = fireAt;
+        }
+    }
+}
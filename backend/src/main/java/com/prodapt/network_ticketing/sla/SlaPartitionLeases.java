@@ -0,0 +1,251 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.event.SlaPartitionsAssignedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits SLA processing across backend instances so each ticket is monitored (and alerted on) by one node.
+ *
+ * The ticket id space is cut into a fixed number of partitions (ticket_id mod partitions), each leased
+ * to one node in sla_partition_lease. Every node heartbeats into sla_node; on each heartbeat it renews
+ * its leases, works out its fair share among the live nodes, gives back any surplus and claims free or
+ * expired partitions up to that share. A node that dies stops renewing, its leases expire after
+ * lease-ttl-ms and the survivors pick them up. All claims are conditional UPDATEs, so two nodes can
+ * never both win a partition.
+ *
+ * The heartbeat runs on its own thread rather than Spring's (single-threaded) scheduler, so a long sweep or
+ * outbox drain can never delay renewals past lease-ttl-ms and let another node take over mid-run. For the same
+ * reason listeners of the SlaPartitionsAssignedEvent it publishes must hand any real work to another thread.
+ *
+ * Lease times come from each node's clock, so nodes need reasonably synced clocks (well under the TTL).
+ * With app.sla.cluster.enabled=false (the default) this node owns everything and never touches the tables.
+ */
+@Component
+public class SlaPartitionLeases {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaPartitionLeases.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int partitions;
+    private final long leaseTtlMs;
+    private final long heartbeatMs;
+    private final String nodeId;
+    private ScheduledExecutorService heartbeatThread;
+
+    // what this node may process, and until when without a successful renewal
+    private volatile Set<Integer> owned = Collections.emptySet();
+    private volatile LocalDateTime ownedUntil;
+
+    public SlaPartitionLeases(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                              @Value("${app.sla.cluster.enabled:false}") boolean enabled,
+                              @Value("${app.sla.cluster.partitions:16}") int partitions,
+                              @Value("${app.sla.cluster.lease-ttl-ms:30000}") long leaseTtlMs,
+                              @Value("${app.sla.cluster.heartbeat-ms:10000}") long heartbeatMs,
+                              @Value("${app.sla.cluster.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.partitions = enabled ? partitions : 1;
+        this.leaseTtlMs = leaseTtlMs;
+        this.heartbeatMs = heartbeatMs;
+        // pid@host is unique per running instance
+        this.nodeId = nodeId == null || nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        if (!enabled) {
+            owned = Set.of(0);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Number of partitions the id space is split into (1 when clustering is off).
+     */
+    public int partitionCount() {
+        return partitions;
+    }
+
+    /**
+     * Partitions this node currently holds a live lease on, for use in "mod(ticket_id, n) in (...)" filters.
+     */
+    public Set<Integer> ownedPartitions() {
+        if (!enabled) return owned;
+        LocalDateTime until = ownedUntil;
+        // a node that could not renew (DB outage, long pause) must assume someone else has taken over
+        if (until == null || !LocalDateTime.now().isBefore(until)) return Collections.emptySet();
+        return owned;
+    }
+
+    public boolean owns(Long ticketId) {
+        return ticketId != null && ownedPartitions().contains(partitionOf(ticketId));
+    }
+
+    public int partitionOf(Long ticketId) {
+        return (int) Math.floorMod(ticketId, (long) partitions);
+    }
+
+    // heartbeats on the sla-lease-heartbeat thread from startup on; tests drive heartbeat(now) by hand instead
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        heartbeatThread = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "sla-lease-heartbeat"));
+        heartbeatThread.scheduleWithFixedDelay(this::heartbeat, 0, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void heartbeat() {
+        if (!enabled) return;
+        try {
+            heartbeat(LocalDateTime.now());
+        } catch (Exception ex) {
+            log.error("SLA lease heartbeat failed for node {}: {}", nodeId, ex.getMessage());
+        }
+    }
+
+    /**
+     * One heartbeat as of the given time: register, rebalance, and publish newly gained partitions.
+     */
+    public void heartbeat(LocalDateTime now) {
+        Set<Integer> gained = rebalance(now);
+        // outside the lock, so a listener never holds up release() or the next heartbeat
+        if (!gained.isEmpty()) {
+            eventPublisher.publishEvent(new SlaPartitionsAssignedEvent(gained, partitions));
+        }
+    }
+
+    // the partitions newly gained
+    private synchronized Set<Integer> rebalance(LocalDateTime now) {
+        LocalDateTime leaseUntil = now.plusNanos(leaseTtlMs * 1_000_000);
+        Timestamp nowTs = Timestamp.valueOf(now);
+        Timestamp untilTs = Timestamp.valueOf(leaseUntil);
+
+        registerNode(nowTs);
+        ensurePartitionRows();
+
+        int share = fairShare(liveNodes(Timestamp.valueOf(now.minusNanos(leaseTtlMs * 1_000_000))));
+
+        // renew what we hold, then read it back: anything that expired meanwhile may have been taken
+        jdbcTemplate.update("update sla_partition_lease set lease_until = ? where owner_node = ? and lease_until > ?",
+                untilTs, nodeId, nowTs);
+        List<Integer> mine = new ArrayList<>(jdbcTemplate.queryForList(
+                "select partition_id from sla_partition_lease where owner_node = ? and lease_until > ? order by partition_id",
+                Integer.class, nodeId, nowTs));
+
+        // surplus goes back first so a joining node can pick it up on its next heartbeat
+        while (mine.size() > share) {
+            Integer partition = mine.remove(mine.size() - 1);
+            jdbcTemplate.update("update sla_partition_lease set owner_node = null, lease_until = null "
+                    + "where partition_id = ? and owner_node = ?", partition, nodeId);
+        }
+
+        if (mine.size() < share) {
+            List<Integer> free = jdbcTemplate.queryForList(
+                    "select partition_id from sla_partition_lease where owner_node is null or lease_until is null "
+                            + "or lease_until <= ? order by partition_id", Integer.class, nowTs);
+            for (Integer partition : free) {
+                if (mine.size() >= share) break;
+                int claimed = jdbcTemplate.update("update sla_partition_lease set owner_node = ?, lease_until = ? "
+                                + "where partition_id = ? and (owner_node is null or lease_until is null or lease_until <= ?)",
+                        nodeId, untilTs, partition, nowTs);
+                if (claimed == 1) mine.add(partition);
+            }
+        }
+
+        Set<Integer> previous = owned;
+        Set<Integer> current = Collections.unmodifiableSet(new TreeSet<>(mine));
+        owned = current;
+        ownedUntil = leaseUntil;
+
+        Set<Integer> gained = new TreeSet<>(current);
+        gained.removeAll(previous);
+        if (!gained.isEmpty() || !previous.equals(current)) {
+            log.info("SLA partitions of node {}: {} of {} (share {})", nodeId, current, partitions, share);
+        }
+        return Collections.unmodifiableSet(gained);
+    }
+
+    /**
+     * Gives up all leases and leaves the cluster, so the other nodes take over without waiting for expiry.
+     */
+    public synchronized void release() {
+        if (!enabled) return;
+        jdbcTemplate.update("update sla_partition_lease set owner_node = null, lease_until = null where owner_node = ?", nodeId);
+        jdbcTemplate.update("delete from sla_node where node_id = ?", nodeId);
+        owned = Collections.emptySet();
+        ownedUntil = null;
+        log.info("Node {} released its SLA partitions", nodeId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (heartbeatThread != null) heartbeatThread.shutdownNow();
+        try {
+            release();
+        } catch (Exception ex) {
+            log.warn("Could not release SLA partitions of node {}, they expire on their own: {}", nodeId, ex.getMessage());
+        }
+    }
+
+    private void registerNode(Timestamp now) {
+        int updated = jdbcTemplate.update("update sla_node set heartbeat_at = ? where node_id = ?", now, nodeId);
+        if (updated == 0) {
+            try {
+                jdbcTemplate.update("insert into sla_node (node_id, heartbeat_at) values (?, ?)", nodeId, now);
+            } catch (DuplicateKeyException ignored) {
+                // registered concurrently, the next heartbeat updates it
+            }
+        }
+    }
+
+    private void ensurePartitionRows() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "select count(*) from sla_partition_lease where partition_id < ?", Integer.class, partitions);
+        if (existing != null && existing >= partitions) return;
+        for (int partition = 0; partition < partitions; partition++) {
+            try {
+                jdbcTemplate.update("insert into sla_partition_lease (partition_id) values (?)", partition);
+            } catch (DuplicateKeyException ignored) {
+                // already there, or another node created it first
+            }
+        }
+    }
+
+    private List<String> liveNodes(Timestamp aliveAfter) {
+        return jdbcTemplate.queryForList(
+                "select node_id from sla_node where heartbeat_at > ? order by node_id", String.class, aliveAfter);
+    }
+
+    // partitions / nodes, with the remainder going to the first nodes in id order
+    private int fairShare(List<String> liveNodes) {
+        int nodes = Math.max(1, liveNodes.size());
+        int index = Math.max(0, liveNodes.indexOf(nodeId));
+        return partitions / nodes + (index < partitions % nodes ? 1 : 0);
+    }
+}
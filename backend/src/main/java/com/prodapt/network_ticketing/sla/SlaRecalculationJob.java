@@ -0,0 +1,75 @@
+package com.prodapt.network_ticketing.sla;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one SLA recalculation of a category, as returned by
+ * GET /api/issue-categories/{id}/sla-recalculation. Written by the recalculation thread only.
+ */
+public class SlaRecalculationJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, SUPERSEDED, FAILED }
+
+    private final Long categoryId;
+    private final int slaHours;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong processed = new AtomicLong();
+    private volatile long total;
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    SlaRecalculationJob(Long categoryId, int slaHours) {
+        this.categoryId = categoryId;
+        this.slaHours = slaHours;
+    }
+
+    void start(long total) {
+        this.total = total;
+        this.state = State.RUNNING;
+    }
+
+    void advance(int tickets) {
+        processed.addAndGet(tickets);
+    }
+
+    void finish(State state, String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.state = state;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public int getSlaHours() {
+        return slaHours;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    // open tickets the job expected when it started; tickets opened meanwhile get the new window on their own
+    public long getTotal() {
+        return total;
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,171 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.event.TicketChangedEvent;
+import com.prodapt.network_ticketing.event.TicketSnapshot;
+import com.prodapt.network_ticketing.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Gives the open tickets of a category a new SLA window after its slaHours or calendar changed.
+ *
+ * Runs on its own background thread, one job at a time, in id-ordered chunks of short transactions:
+ * 24x7 categories are one set-based UPDATE per chunk, calendar categories one JDBC batch of per-ticket
+ * due times. A newer job for the same category supersedes a running one, which stops after its current chunk.
+ * BREACHED tickets keep their window: the breach happened and was alerted.
+ */
+@Component
+public class SlaRecalculator {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaRecalculator.class);
+
+    private static final String CALENDAR_WINDOW_SQL = "update ticket set sla_due_time = ?, at_risk_at = ?, "
+            + "sla_status = case when sla_status = 'AT_RISK' and ? > ? then 'ON_TRACK' else sla_status end, "
+            + "last_updated_at = ? "
+            + "where ticket_id = ? and status not in ('RESOLVED', 'CLOSED') "
+            + "and (sla_status is null or sla_status <> 'BREACHED')";
+
+    private final TicketRepository ticketRepository;
+    private final SlaCalendars slaCalendars;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> new Thread(r, "sla-recalculation"));
+    private final Map<Long, SlaRecalculationJob> latest = new ConcurrentHashMap<>();
+
+    public SlaRecalculator(TicketRepository ticketRepository, SlaCalendars slaCalendars, JdbcTemplate jdbcTemplate,
+                           ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                           @Value("${app.sla.recalculation.chunk-size:500}") int chunkSize) {
+        this.ticketRepository = ticketRepository;
+        this.slaCalendars = slaCalendars;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Queues a recalculation of the category to slaHours in calendar (null for 24x7). The previous values
+     * are needed to tell the finished pauses of calendar tickets apart from their old window.
+     */
+    public SlaRecalculationJob submit(Long categoryId, int slaHours, Long calendarId,
+                                      int previousSlaHours, Long previousCalendarId) {
+        return submit(categoryId, slaHours, calendarId, previousSlaHours, slaCalendars.clock(previousCalendarId));
+    }
+
+    /**
+     * As above, with the old window measured in a captured calendar version: after a calendar itself
+     * changed, its id already compiles to the new definition.
+     */
+    public SlaRecalculationJob submit(Long categoryId, int slaHours, Long calendarId,
+                                      int previousSlaHours, SlaCalendars.Clock previousCalendar) {
+        SlaRecalculationJob job = new SlaRecalculationJob(categoryId, slaHours);
+        latest.put(categoryId, job);
+        worker.execute(() -> run(job, calendarId, previousSlaHours, previousCalendar));
+        return job;
+    }
+
+    public Optional<SlaRecalculationJob> latest(Long categoryId) {
+        return Optional.ofNullable(latest.get(categoryId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void run(SlaRecalculationJob job, Long calendarId, int previousSlaHours, SlaCalendars.Clock previousCalendar) {
+        Long categoryId = job.getCategoryId();
+        if (latest.get(categoryId) != job) {
+            job.finish(SlaRecalculationJob.State.SUPERSEDED, null);
+            return;
+        }
+        try {
+            job.start(ticketRepository.countRecalculationTargets(categoryId));
+            long slaMinutes = job.getSlaHours() * 60L;
+            long atRiskMinutes = (long) Math.ceil(slaMinutes * SlaCalculator.AT_RISK_RATIO);
+            long previousSlaMinutes = previousSlaHours * 60L;
+
+            Long afterId = 0L;
+            while (true) {
+                if (latest.get(categoryId) != job) {
+                    job.finish(SlaRecalculationJob.State.SUPERSEDED, null);
+                    log.info("SLA recalculation of category {} superseded after {} tickets", categoryId, job.getProcessed());
+                    return;
+                }
+                List<Long> ids = ticketRepository.findRecalculationTargetsAfter(categoryId, afterId, Limit.of(chunkSize));
+                if (ids.isEmpty()) break;
+                afterId = ids.get(ids.size() - 1);
+
+                LocalDateTime now = LocalDateTime.now();
+                List<TicketSnapshot> before = transactionTemplate.execute(status -> {
+                    List<TicketSnapshot> current = ticketRepository.findSnapshotsByIdIn(ids);
+                    if (calendarId == null) {
+                        ticketRepository.recalculateWindow(ids, categoryId, slaMinutes * 60, atRiskMinutes * 60, now);
+                    } else {
+                        updateCalendarWindows(current, calendarId, slaMinutes, atRiskMinutes,
+                                previousCalendar, previousSlaMinutes, now);
+                    }
+                    return current;
+                });
+                publishChanges(before, ids);
+                job.advance(ids.size());
+            }
+            job.finish(SlaRecalculationJob.State.COMPLETED, null);
+            log.info("SLA recalculation of category {} to {}h done: {} tickets", categoryId, job.getSlaHours(), job.getProcessed());
+        } catch (Exception ex) {
+            job.finish(SlaRecalculationJob.State.FAILED, ex.getMessage());
+            log.error("SLA recalculation of category {} failed after {} tickets: {}", categoryId, job.getProcessed(), ex.getMessage());
+        }
+    }
+
+    // Working-time windows cannot be computed in SQL. The finished pauses of a ticket are the part of its
+    // current window beyond the previous SLA, measured in the previous calendar, and are carried over.
+    private void updateCalendarWindows(List<TicketSnapshot> tickets, Long calendarId, long slaMinutes, long atRiskMinutes,
+                                       SlaCalendars.Clock previousCalendar, long previousSlaMinutes, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>(tickets.size());
+        Timestamp nowTs = Timestamp.valueOf(now);
+        for (TicketSnapshot ticket : tickets) {
+            LocalDateTime start = ticket.getSlaStartTime();
+            if (start == null || ticket.getSlaDueTime() == null) continue;
+            long pausedMinutes = Math.max(0,
+                    previousCalendar.minutesBetween(start, ticket.getSlaDueTime()) - previousSlaMinutes);
+            Timestamp due = Timestamp.valueOf(slaCalendars.dueTime(calendarId, start, slaMinutes + pausedMinutes));
+            Timestamp atRiskAt = Timestamp.valueOf(slaCalendars.dueTime(calendarId, start, atRiskMinutes + pausedMinutes));
+            rows.add(new Object[]{due, atRiskAt, atRiskAt, nowTs, nowTs, ticket.getTicketId()});
+        }
+        jdbcTemplate.batchUpdate(CALENDAR_WINDOW_SQL, rows);
+    }
+
+    // the deadline engine, breach forecast and load index re-read the committed windows
+    private void publishChanges(List<TicketSnapshot> before, List<Long> ids) {
+        if (before == null) return;
+        Map<Long, TicketSnapshot> previous = before.stream()
+                .collect(Collectors.toMap(TicketSnapshot::getTicketId, Function.identity()));
+        for (TicketSnapshot after : ticketRepository.findSnapshotsByIdIn(ids)) {
+            eventPublisher.publishEvent(new TicketChangedEvent(previous.get(after.getTicketId()), after));
+        }
+    }
+}
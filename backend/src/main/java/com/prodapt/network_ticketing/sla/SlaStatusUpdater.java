@@ -0,0 +1,69 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.entity.Ticket;
+import com.prodapt.network_ticketing.entity.enums.NotificationType;
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.event.TicketChangedEvent;
+import com.prodapt.network_ticketing.event.TicketSnapshot;
+import com.prodapt.network_ticketing.notification.NotificationOutbox;
+import com.prodapt.network_ticketing.repository.TicketRepository;
+import com.prodapt.network_ticketing.service.SlaAlertService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persists an SLA status transition and queues its one-off notifications in the outbox.
+ * Shared by the deadline engine and the fallback sweep so both behave identically; both call it in a transaction.
+ */
+@Component
+public class SlaStatusUpdater {
+
+    private final TicketRepository ticketRepository;
+    private final SlaAlertService slaAlertService;
+    private final NotificationOutbox notificationOutbox;
+    private final SlaCalculator slaCalculator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SlaStatusUpdater(TicketRepository ticketRepository, SlaAlertService slaAlertService,
+                            NotificationOutbox notificationOutbox, SlaCalculator slaCalculator,
+                            ApplicationEventPublisher eventPublisher) {
+        this.ticketRepository = ticketRepository;
+        this.slaAlertService = slaAlertService;
+        this.notificationOutbox = notificationOutbox;
+        this.slaCalculator = slaCalculator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Re-evaluates the ticket and saves it if its SLA status changed. Returns whether it did.
+     */
+    public boolean update(Ticket ticket, LocalDateTime now) {
+        SlaStatus oldStatus = ticket.getSlaStatus();
+        SlaStatus newStatus = slaCalculator.evaluate(ticket, now);
+
+        // 🔁 Update only if SLA status changed
+        if (oldStatus == newStatus) {
+            return false;
+        }
+
+        TicketSnapshot before = TicketSnapshot.of(ticket);
+        ticket.setSlaStatus(newStatus);
+
+        // 🚨 SLA breach alert (ONE TIME ONLY per SLA window, see NotificationLedger)
+        if (newStatus == SlaStatus.BREACHED) {
+            slaAlertService.sendSlaBreachAlert(ticket);
+            ticket.setSlaAlertSent(true);
+        }
+
+        // 80% SLA warning (when transitioning to AT_RISK)
+        if (newStatus == SlaStatus.AT_RISK && oldStatus != SlaStatus.AT_RISK) {
+            notificationOutbox.enqueue(NotificationType.SLA_WARNING, ticket);
+        }
+
+        ticketRepository.save(ticket);
+        eventPublisher.publishEvent(new TicketChangedEvent(before, TicketSnapshot.of(ticket)));
+        return true;
+    }
+}
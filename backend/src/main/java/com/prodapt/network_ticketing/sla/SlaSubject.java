@@ -0,0 +1,28 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields SLA math needs, so the same rules apply to the entity and to read projections.
+ */
+public interface SlaSubject {
+
+    TicketStatus getStatus();
+
+    SlaStatus getSlaStatus();
+
+    LocalDateTime getSlaStartTime();
+
+    LocalDateTime getSlaDueTime();
+
+    // persisted AT_RISK point of the window (calendar-aware), null for rows that predate it
+    LocalDateTime getAtRiskAt();
+
+    // start of the current ON_HOLD pause, null while the clock is not paused
+    LocalDateTime getSlaPausedAt();
+
+    boolean hasManagerAssignment();
+}
@@ -0,0 +1,147 @@
+package com.prodapt.network_ticketing.sla;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * A business-hours calendar compiled for a date range into its working intervals, sorted, with the
+ * working seconds accumulated before each one. "How much working time lies before t" and "when has
+ * n seconds of working time passed" are then binary searches instead of walks over days.
+ *
+ * Times are the server-local LocalDateTime values used on Ticket, mapped to a seconds line without any
+ * zone rules. Immutable; SlaCalendars compiles a wider copy when a query falls outside the range.
+ */
+public final class WorkingTimeIndex {
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    // interval i is [starts[i], ends[i]) on the seconds line; cumulative[i] is the working time before it
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] cumulative;
+
+    private WorkingTimeIndex(LocalDate from, LocalDate to, long[] starts, long[] ends, long[] cumulative) {
+        this.from = from;
+        this.to = to;
+        this.starts = starts;
+        this.ends = ends;
+        this.cumulative = cumulative;
+    }
+
+    /**
+     * Compiles the working intervals of every day in [from, to): on working days that are not holidays,
+     * dayStart to dayEnd.
+     */
+    public static WorkingTimeIndex compile(LocalTime dayStart, LocalTime dayEnd, Set<DayOfWeek> workingDays,
+                                           Set<LocalDate> holidays, LocalDate from, LocalDate to) {
+        if (!dayStart.isBefore(dayEnd)) {
+            throw new IllegalArgumentException("Working day must start before it ends");
+        }
+        int days = (int) Math.max(0, to.toEpochDay() - from.toEpochDay());
+        long[] starts = new long[days];
+        long[] ends = new long[days];
+        long[] cumulative = new long[days];
+
+        int n = 0;
+        long total = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            if (!workingDays.contains(day.getDayOfWeek()) || holidays.contains(day)) continue;
+            starts[n] = seconds(day.atTime(dayStart));
+            ends[n] = seconds(day.atTime(dayEnd));
+            cumulative[n] = total;
+            total += ends[n] - starts[n];
+            n++;
+        }
+        return new WorkingTimeIndex(from, to, Arrays.copyOf(starts, n), Arrays.copyOf(ends, n), Arrays.copyOf(cumulative, n));
+    }
+
+    public boolean covers(LocalDateTime time) {
+        LocalDate day = time.toLocalDate();
+        return !day.isBefore(from) && day.isBefore(to);
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public boolean hasWorkingTime() {
+        return starts.length > 0;
+    }
+
+    /**
+     * Working seconds between the start of the range and the given time.
+     */
+    public long workingSecondsBefore(LocalDateTime time) {
+        long t = seconds(time);
+        int i = lastStartingAtOrBefore(t);
+        if (i < 0) return 0;
+        return cumulative[i] + Math.min(t, ends[i]) - starts[i];
+    }
+
+    /**
+     * Working seconds from a to b (negative when b is before a).
+     */
+    public long workingSecondsBetween(LocalDateTime a, LocalDateTime b) {
+        return workingSecondsBefore(b) - workingSecondsBefore(a);
+    }
+
+    /**
+     * The moment the given amount of working time has passed after start, or null if that lies beyond the range.
+     * A target that ends exactly at the close of a working day resolves to that close, not to the next opening.
+     */
+    public LocalDateTime plusWorkingSeconds(LocalDateTime start, long workingSeconds) {
+        long target = workingSecondsBefore(start) + Math.max(0, workingSeconds);
+        // first interval whose end (cumulative + length) reaches the target
+        int lo = 0;
+        int hi = starts.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] + ends[mid] - starts[mid] >= target) {
+                found = mid;
+                hi = mid - 1;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        if (found < 0) return null;
+        long at = starts[found] + (target - cumulative[found]);
+        // zero working time from a point outside working hours stays where it is
+        return at < seconds(start) ? start : time(at, start);
+    }
+
+    private int lastStartingAtOrBefore(long t) {
+        int lo = 0;
+        int hi = starts.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] <= t) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // keeps the sub-second part of the reference time so a 24x7 window and a calendar window line up
+    private static LocalDateTime time(long seconds, LocalDateTime reference) {
+        return LocalDateTime.ofEpochSecond(seconds, reference.getNano(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,97 @@
+package com.prodapt.network_ticketing.notification;
+
+import com.prodapt.network_ticketing.entity.IssueCategory;
+import com.prodapt.network_ticketing.entity.OutboxNotification;
+import com.prodapt.network_ticketing.entity.Ticket;
+import com.prodapt.network_ticketing.entity.User;
+import com.prodapt.network_ticketing.entity.enums.NotificationType;
+import com.prodapt.network_ticketing.entity.enums.Priority;
+import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render cost per notification with the bundled templates: subject, plain text and HTML of an assignment
+ * (rendered once, shared by its two recipients) and of a 50-line SLA digest.
+ *
+ *   ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.prodapt.network_ticketing.notification.EmailTemplateBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private NotificationComposer composer;
+    private Ticket ticket;
+    private List<OutboxNotification> digestRows;
+
+    @Setup
+    public void setUp() {
+        composer = new NotificationComposer(new EmailTemplates(new DefaultResourceLoader(), "classpath:/templates/email/"));
+
+        IssueCategory category = new IssueCategory();
+        category.setCategoryName("Network Outage");
+        LocalDateTime start = LocalDateTime.of(2026, 3, 2, 9, 30);
+        ticket = new Ticket();
+        ticket.setTicketId(4711L);
+        ticket.setTicketReference("NT-2026-004711");
+        ticket.setDescription("Branch office <Leeds> lost its uplink & all VoIP phones are down");
+        ticket.setIssueCategory(category);
+        ticket.setPriority(Priority.HIGH);
+        ticket.setStatus(TicketStatus.ASSIGNED);
+        ticket.setSlaStartTime(start);
+        ticket.setSlaDueTime(start.plusHours(4));
+        ticket.setCustomer(user("customer.charlie"));
+        ticket.setAssignedEngineer(user("engineer.eve"));
+        ticket.setAssignedByManager(user("manager.alice"));
+
+        digestRows = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            digestRows.add(new OutboxNotification(NotificationType.SLA_WARNING, 5000L + i, "manager.alice@example.com",
+                    "⚠️ SLA 80% Alert: NT-2026-00" + (5000 + i) + " - Urgent Action Required", "", null, true,
+                    start.plusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public List<RenderedEmail> assignment() {
+        return composer.compose(NotificationType.TICKET_ASSIGNED, ticket);
+    }
+
+    @Benchmark
+    public RenderedEmail digest() {
+        return composer.digest("manager.alice@example.com", digestRows);
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        return user;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EmailTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.prodapt.network_ticketing.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmailTemplateTest {
+
+    private static String render(String source, boolean html, Map<String, ?> model) {
+        StringBuilder out = new StringBuilder();
+        EmailTemplate.compile("test", source, html, Map.of("_sig", "-- \n{{team}}\n")::get).render(model, out);
+        return out.toString();
+    }
+
+    @Test
+    void escapesVariablesInHtmlOnly() {
+        Map<String, Object> model = Map.of("description", "<Leeds> uplink & VoIP");
+        assertEquals("<p>&lt;Leeds&gt; uplink &amp; VoIP</p>", render("<p>{{description}}</p>", true, model));
+        assertEquals("<p><Leeds> uplink & VoIP</p>", render("<p>{{&description}}</p>", true, model));
+        assertEquals("<Leeds> uplink & VoIP", render("{{description}}", false, model));
+    }
+
+    @Test
+    void rendersSectionsAndDropsTheirTagLines() {
+        Map<String, Object> model = new HashMap<>();
+        model.put("engineer", Map.of("username", "eve"));
+        model.put("manager", null);
+        model.put("lines", List.of(Map.of("time", LocalDateTime.of(2026, 3, 2, 9, 30), "subject", "A"),
+                Map.of("time", LocalDateTime.of(2026, 3, 2, 9, 31), "subject", "B")));
+        model.put("team", "NOC");
+
+        String source = """
+                {{#engineer}}
+                Engineer: {{username}} ({{team}})
+                {{/engineer}}
+                {{#manager}}
+                Manager: {{username}}
+                {{/manager}}
+                {{^manager}}
+                No manager
+                {{/manager}}
+                {{#lines}}
+                [{{time}}] {{subject}}
+                {{/lines}}
+                {{>_sig}}
+                """;
+        assertEquals("""
+                Engineer: eve (NOC)
+                No manager
+                [2026-03-02 09:30] A
+                [2026-03-02 09:31] B
+                --\s
+                NOC
+                """, render(source, false, model));
+    }
+
+    @Test
+    void rejectsUnbalancedSectionsAndUnknownPartials() {
+        assertThrows(IllegalArgumentException.class, () -> render("{{#a}}x", false, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> render("{{#a}}x{{/b}}", false, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> render("{{>_missing}}", false, Map.of()));
+    }
+}
@@ -0,0 +1,206 @@
+package com.prodapt.network_ticketing.notification;
+
+import com.prodapt.network_ticketing.entity.Ticket;
+import com.prodapt.network_ticketing.entity.enums.NotificationType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Claims against one embedded H2 database, each in its own transaction as the notification paths make them.
+ * Two application contexts stand for two nodes, so a duplicate is also refused without the local cache.
+ */
+class NotificationLedgerTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:notification_ledger;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final LocalDateTime WINDOW = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private final List<AnnotationConfigApplicationContext> contexts = new ArrayList<>();
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void createSchema() {
+        jdbc = new JdbcTemplate(dataSource());
+        jdbc.execute("drop table if exists notification_ledger");
+        jdbc.execute("drop table if exists ticket");
+        jdbc.execute("create table ticket (ticket_id bigint primary key, status varchar(20) not null, "
+                + "sla_start_time timestamp(6))");
+        jdbc.execute("create table notification_ledger (ledger_id bigint auto_increment primary key, "
+                + "ticket_id bigint not null, event varchar(50) not null, window_start timestamp(6) not null, "
+                + "created_at timestamp(6) not null, "
+                + "constraint uk_ledger_ticket_event_window unique (ticket_id, event, window_start))");
+    }
+
+    @AfterEach
+    void closeNodes() {
+        contexts.forEach(AnnotationConfigApplicationContext::close);
+    }
+
+    @Test
+    void duplicateClaimInTheSameWindowIsRefused() {
+        AnnotationConfigApplicationContext a = startNode();
+        AnnotationConfigApplicationContext b = startNode();
+        Ticket ticket = ticket(1L, WINDOW);
+
+        assertTrue(claim(a, NotificationType.SLA_BREACHED, ticket));
+        assertFalse(claim(a, NotificationType.SLA_BREACHED, ticket));   // turned away by the local cache
+        assertFalse(claim(b, NotificationType.SLA_BREACHED, ticket));   // turned away by the unique key
+
+        assertEquals(1, rows(1L));
+        assertEquals(2.0, suppressed(a) + suppressed(b));
+    }
+
+    @Test
+    void rolledBackClaimFreesTheKey() {
+        AnnotationConfigApplicationContext a = startNode();
+        Ticket ticket = ticket(1L, WINDOW);
+
+        Boolean claimed = transaction(a).execute(status -> {
+            boolean result = ledger(a).claim(NotificationType.SLA_WARNING, ticket);
+            status.setRollbackOnly();   // e.g. queueing the notification failed
+            return result;
+        });
+
+        assertTrue(claimed);
+        assertEquals(0, rows(1L));
+        assertTrue(claim(a, NotificationType.SLA_WARNING, ticket));
+        assertEquals(1, rows(1L));
+    }
+
+    @Test
+    void restartedSlaWindowNotifiesAgain() {
+        AnnotationConfigApplicationContext a = startNode();
+
+        assertTrue(claim(a, NotificationType.SLA_BREACHED, ticket(1L, WINDOW)));
+        assertFalse(claim(a, NotificationType.SLA_BREACHED, ticket(1L, WINDOW)));
+        assertTrue(claim(a, NotificationType.SLA_BREACHED, ticket(1L, WINDOW.plusDays(1))));   // reopened
+
+        assertEquals(2, rows(1L));
+    }
+
+    @Test
+    void otherEventsAndTicketsAreClaimedSeparately() {
+        AnnotationConfigApplicationContext a = startNode();
+
+        assertTrue(claim(a, NotificationType.SLA_WARNING, ticket(1L, WINDOW)));
+        assertTrue(claim(a, NotificationType.SLA_BREACHED, ticket(1L, WINDOW)));
+        assertTrue(claim(a, NotificationType.SLA_BREACHED, ticket(2L, WINDOW)));
+        assertTrue(claim(a, NotificationType.TICKET_CLOSED, ticket(1L, WINDOW)));   // not once-per-window
+        assertTrue(claim(a, NotificationType.TICKET_CLOSED, ticket(1L, WINDOW)));
+
+        assertEquals(2, rows(1L));
+        assertEquals(1, rows(2L));
+    }
+
+    @Test
+    void purgeKeepsClaimsOfWindowsThatCanStillNotify() {
+        AnnotationConfigApplicationContext a = startNode();
+        LocalDateTime old = LocalDateTime.now().minusDays(30);
+        jdbc.update("insert into ticket values (1, 'IN_PROGRESS', ?)", WINDOW);   // current window
+        jdbc.update("insert into ticket values (2, 'CLOSED', ?)", WINDOW);
+        jdbc.update("insert into ticket values (3, 'ASSIGNED', ?)", WINDOW.plusDays(1));   // restarted since
+        for (long ticketId = 1; ticketId <= 4; ticketId++) {   // ticket 4 no longer exists
+            jdbc.update("insert into notification_ledger (ticket_id, event, window_start, created_at) values (?, ?, ?, ?)",
+                    ticketId, NotificationType.SLA_BREACHED.name(), WINDOW, old);
+        }
+        jdbc.update("insert into notification_ledger (ticket_id, event, window_start, created_at) values (?, ?, ?, ?)",
+                2L, NotificationType.SLA_WARNING.name(), WINDOW, LocalDateTime.now());   // within retention
+
+        ledger(a).purge();
+
+        assertEquals(1, rows(1L));
+        assertEquals(1, rows(2L));
+        assertEquals(0, rows(3L));
+        assertEquals(0, rows(4L));
+        assertFalse(claim(a, NotificationType.SLA_BREACHED, ticket(1L, WINDOW)));
+    }
+
+    // ================= HELPERS =================
+
+    private AnnotationConfigApplicationContext startNode() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(NodeConfig.class, NotificationLedger.class);
+        context.refresh();
+        contexts.add(context);
+        return context;
+    }
+
+    private static boolean claim(AnnotationConfigApplicationContext context, NotificationType event, Ticket ticket) {
+        return transaction(context).execute(status -> ledger(context).claim(event, ticket));
+    }
+
+    private static NotificationLedger ledger(AnnotationConfigApplicationContext context) {
+        return context.getBean(NotificationLedger.class);
+    }
+
+    private static TransactionTemplate transaction(AnnotationConfigApplicationContext context) {
+        return context.getBean(TransactionTemplate.class);
+    }
+
+    private static double suppressed(AnnotationConfigApplicationContext context) {
+        return context.getBean(MeterRegistry.class).counter("notification.ledger.suppressed").count();
+    }
+
+    private int rows(Long ticketId) {
+        return jdbc.queryForObject("select count(*) from notification_ledger where ticket_id = ?", Integer.class, ticketId);
+    }
+
+    private static Ticket ticket(Long ticketId, LocalDateTime slaStartTime) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(ticketId);
+        ticket.setSlaStartTime(slaStartTime);
+        return ticket;
+    }
+
+    private static DataSource dataSource() {
+        return new DriverManagerDataSource(DB_URL, "sa", "");
+    }
+
+    @Configuration
+    static class NodeConfig {
+
+        @Bean
+        static PropertySourcesPlaceholderConfigurer placeholders() {
+            return new PropertySourcesPlaceholderConfigurer();
+        }
+
+        @Bean
+        DataSource dataSource() {
+            return NotificationLedgerTest.dataSource();
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate(DataSource dataSource) {
+            return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.dto.SlaForecastHour;
+import com.prodapt.network_ticketing.entity.enums.Priority;
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+import com.prodapt.network_ticketing.event.TicketChangedEvent;
+import com.prodapt.network_ticketing.event.TicketSnapshot;
+import com.prodapt.network_ticketing.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Deltas against rebuilds of the breach forecast. The grouped query is a mock whose answer can commit ticket
+ * changes while it "runs", which is where a rebuild used to lose or double-count them.
+ */
+class SlaBreachForecastTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    private static final LocalDateTime DUE = NOW.plusHours(2).plusMinutes(30);
+
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final SlaCalculator calculator = mock(SlaCalculator.class);
+    private SlaBreachForecast forecast;
+
+    @BeforeEach
+    void setUp() {
+        when(calculator.isClockRunning(any())).thenReturn(true);
+        forecast = new SlaBreachForecast(ticketRepository, calculator);
+    }
+
+    @Test
+    void changeCommittedDuringARebuildIsKept() {
+        // ticket 1 is in the DB before the query; ticket 2 is assigned while it runs and is not in its result
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(DUE, 1));
+        when(ticketRepository.countHeadingForBreachByDueHour(any())).thenAnswer(invocation -> {
+            forecast.onTicketChanged(new TicketChangedEvent(null, ticket(2L, DUE)));
+            return rows;
+        });
+
+        forecast.rebuild();
+
+        assertEquals(2, breachingAt(DUE));
+        assertEquals(Map.of(10L, 2L), hourOf(DUE).getByCategory());
+    }
+
+    @Test
+    void changeAppliedBeforeARebuildIsNotCountedAgain() {
+        forecast.onTicketChanged(new TicketChangedEvent(null, ticket(1L, DUE)));
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(DUE, 1));
+        when(ticketRepository.countHeadingForBreachByDueHour(any())).thenReturn(rows);
+
+        forecast.rebuild();
+        forecast.onTicketChanged(new TicketChangedEvent(ticket(1L, DUE), ticket(1L, DUE.plusHours(1))));
+
+        assertEquals(0, breachingAt(DUE));
+        assertEquals(1, breachingAt(DUE.plusHours(1)));
+    }
+
+    @Test
+    void eventsAfterARebuildAreNotReplayedIntoTheNextOne() {
+        when(ticketRepository.countHeadingForBreachByDueHour(any())).thenReturn(new ArrayList<>());
+        forecast.rebuild();
+        forecast.onTicketChanged(new TicketChangedEvent(null, ticket(1L, DUE)));
+
+        forecast.rebuild();   // the DB says nothing is due: the event was drift, and the rebuild corrects it
+
+        assertEquals(0, breachingAt(DUE));
+    }
+
+    // ================= HELPERS =================
+
+    private long breachingAt(LocalDateTime time) {
+        return hourOf(time).getBreaching();
+    }
+
+    private SlaForecastHour hourOf(LocalDateTime time) {
+        int offset = (int) ChronoUnit.HOURS.between(NOW, time.truncatedTo(ChronoUnit.HOURS));
+        return forecast.forecast(NOW, offset + 1).get(offset);
+    }
+
+    // [categoryId, engineerId, year, month, day, hour, count] as returned by countHeadingForBreachByDueHour
+    private static Object[] row(LocalDateTime due, long count) {
+        return new Object[]{10L, 3L, due.getYear(), due.getMonthValue(), due.getDayOfMonth(), due.getHour(), count};
+    }
+
+    private static TicketSnapshot ticket(Long id, LocalDateTime due) {
+        return new TicketSnapshot(id, 3L, 10L, TicketStatus.ASSIGNED, SlaStatus.ON_TRACK, Priority.HIGH,
+                due.minusHours(4), due, due.minusHours(1), null, 1L);
+    }
+}
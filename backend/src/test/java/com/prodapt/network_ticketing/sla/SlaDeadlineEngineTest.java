@@ -0,0 +1,147 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.entity.enums.Priority;
+import com.prodapt.network_ticketing.entity.enums.SlaStatus;
+import com.prodapt.network_ticketing.entity.enums.TicketStatus;
+import com.prodapt.network_ticketing.event.SlaPartitionsAssignedEvent;
+import com.prodapt.network_ticketing.event.TicketSnapshot;
+import com.prodapt.network_ticketing.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Queue and wake-up bookkeeping of the deadline engine. The TaskScheduler is a mock, so nothing fires on
+ * its own; the next transition time of each ticket is stubbed on the calculator.
+ */
+class SlaDeadlineEngineTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private final SlaCalculator calculator = mock(SlaCalculator.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final ScheduledFuture<?> future = mock(ScheduledFuture.class);
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private SlaDeadlineEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        doReturn(future).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        engine = new SlaDeadlineEngine(ticketRepository, calculator, mock(SlaStatusUpdater.class),
+                taskScheduler, mock(PlatformTransactionManager.class), mock(SlaPartitionLeases.class));
+    }
+
+    @Test
+    void retrackingATicketReplacesItsDeadline() {
+        TicketSnapshot ticket = ticket(1L);
+        track(ticket, T0.plusHours(2));
+        track(ticket, T0.plusHours(1));
+        track(ticket, T0.plusHours(3));
+
+        assertEquals(1, engine.pendingCount());
+        assertEquals(T0.plusHours(3), engine.nextDeadline());
+    }
+
+    @Test
+    void retrackingWithTheSameDeadlineChangesNothing() {
+        TicketSnapshot ticket = ticket(1L);
+        for (int i = 0; i < 5; i++) {
+            track(ticket, T0);
+        }
+
+        assertEquals(1, engine.pendingCount());
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void ticketWithoutNextTransitionIsForgotten() {
+        TicketSnapshot ticket = ticket(1L);
+        track(ticket, T0);
+        track(ticket, null);
+
+        assertEquals(0, engine.pendingCount());
+        assertNull(engine.nextDeadline());
+        verify(future).cancel(false);
+    }
+
+    @Test
+    void armsOneWakeUpAtTheEarliestDeadline() {
+        track(ticket(1L), T0.plusHours(3));
+        track(ticket(2L), T0.plusHours(1));
+        track(ticket(3L), T0.plusHours(2));   // later than the armed wake-up: nothing to re-arm
+
+        ArgumentCaptor<Instant> armedAt = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), armedAt.capture());
+        assertEquals(List.of(instant(T0.plusHours(3)), instant(T0.plusHours(1))), armedAt.getAllValues());
+        verify(future, times(1)).cancel(false);
+        assertEquals(3, engine.pendingCount());
+        assertEquals(T0.plusHours(1), engine.nextDeadline());
+    }
+
+    @Test
+    void forgettingTheEarliestTicketKeepsTheRestQueued() {
+        track(ticket(1L), T0.plusHours(1));
+        track(ticket(2L), T0.plusHours(2));
+        track(ticket(1L), null);
+
+        assertEquals(1, engine.pendingCount());
+        assertEquals(T0.plusHours(2), engine.nextDeadline());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), eq(instant(T0.plusHours(2))));
+    }
+
+    @Test
+    void gainedPartitionsAreReloadedOnTheSchedulerFromTheirOwnRows() {
+        TicketSnapshot ticket = ticket(5L);
+        when(calculator.nextTransitionAt(eq(ticket), any())).thenReturn(T0);
+        when(ticketRepository.findOpenSnapshotsInPartitions(16, Set.of(5))).thenReturn(List.of(ticket));
+
+        engine.onPartitionsAssigned(new SlaPartitionsAssignedEvent(Set.of(5), 16));
+
+        // nothing is read on the publishing (heartbeat) thread
+        verify(ticketRepository, never()).findOpenSnapshotsInPartitions(any(Integer.class), any());
+        ArgumentCaptor<Runnable> reload = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(reload.capture(), any(Instant.class));
+
+        reload.getValue().run();
+
+        verify(ticketRepository, never()).findOpenSnapshots();
+        assertEquals(1, engine.pendingCount());
+        assertEquals(T0, engine.nextDeadline());
+    }
+
+    // ================= HELPERS =================
+
+    private void track(TicketSnapshot ticket, LocalDateTime nextTransition) {
+        when(calculator.nextTransitionAt(eq(ticket), any())).thenReturn(nextTransition);
+        engine.track(ticket);
+    }
+
+    private static TicketSnapshot ticket(Long id) {
+        return new TicketSnapshot(id, 3L, 1L, TicketStatus.ASSIGNED, SlaStatus.ON_TRACK, Priority.HIGH,
+                T0.minusHours(1), T0.plusHours(3), T0.plusHours(2), null, 1L);
+    }
+
+    private static Instant instant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,203 @@
+package com.prodapt.network_ticketing.sla;
+
+import com.prodapt.network_ticketing.event.SlaPartitionsAssignedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Several application contexts, one per simulated node, sharing one embedded H2 database.
+ * Heartbeats are driven by hand with explicit times so expiry does not depend on wall-clock sleeps.
+ */
+class SlaPartitionLeasesTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:sla_leases;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final int PARTITIONS = 16;
+    private static final long TTL_MS = 30_000;
+
+    private final List<AnnotationConfigApplicationContext> contexts = new ArrayList<>();
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void createSchema() {
+        jdbc = new JdbcTemplate(dataSource());
+        jdbc.execute("drop table if exists sla_partition_lease");
+        jdbc.execute("drop table if exists sla_node");
+        jdbc.execute("create table sla_partition_lease (partition_id int primary key, "
+                + "owner_node varchar(100), lease_until timestamp(6))");
+        jdbc.execute("create table sla_node (node_id varchar(100) primary key, heartbeat_at timestamp(6) not null)");
+    }
+
+    @AfterEach
+    void closeNodes() {
+        contexts.forEach(AnnotationConfigApplicationContext::close);
+    }
+
+    @Test
+    void singleNodeLeasesEveryPartition() {
+        AnnotationConfigApplicationContext a = startNode("node-a", true);
+        LocalDateTime now = LocalDateTime.now();
+
+        leases(a).heartbeat(now);
+
+        assertEquals(PARTITIONS, leases(a).ownedPartitions().size());
+        assertEquals(1, events(a).size());
+        assertTrue(leases(a).owns(12345L));
+    }
+
+    @Test
+    void joiningNodeGetsAnEvenShareWithoutOverlap() {
+        AnnotationConfigApplicationContext a = startNode("node-a", true);
+        AnnotationConfigApplicationContext b = startNode("node-b", true);
+        LocalDateTime now = LocalDateTime.now();
+
+        leases(a).heartbeat(now);
+        leases(b).heartbeat(now.plusSeconds(1));   // b registers, nothing free yet
+        leases(a).heartbeat(now.plusSeconds(2));   // a sees two nodes and gives half back
+        leases(b).heartbeat(now.plusSeconds(3));   // b claims it
+
+        Set<Integer> ofA = leases(a).ownedPartitions();
+        Set<Integer> ofB = leases(b).ownedPartitions();
+        assertEquals(PARTITIONS / 2, ofA.size());
+        assertEquals(PARTITIONS / 2, ofB.size());
+        assertDisjointAndComplete(ofA, ofB);
+
+        // every ticket is processed by exactly one node
+        for (long ticketId = 1; ticketId <= 100; ticketId++) {
+            assertTrue(leases(a).owns(ticketId) ^ leases(b).owns(ticketId));
+        }
+    }
+
+    @Test
+    void survivorTakesOverAfterANodeStopsHeartbeating() {
+        AnnotationConfigApplicationContext a = startNode("node-a", true);
+        AnnotationConfigApplicationContext b = startNode("node-b", true);
+        LocalDateTime now = LocalDateTime.now();
+        leases(a).heartbeat(now);
+        leases(b).heartbeat(now.plusSeconds(1));
+        leases(a).heartbeat(now.plusSeconds(2));
+        leases(b).heartbeat(now.plusSeconds(3));
+        Set<Integer> ofB = leases(b).ownedPartitions();
+
+        // b goes silent; once its heartbeat and leases are older than the TTL, a claims everything
+        LocalDateTime later = now.plusSeconds(3).plusNanos((TTL_MS + 1000) * 1_000_000);
+        events(a).clear();
+        leases(a).heartbeat(later);
+
+        assertEquals(PARTITIONS, leases(a).ownedPartitions().size());
+        assertEquals(1, events(a).size());
+        assertEquals(ofB, events(a).get(0).getPartitions());
+    }
+
+    @Test
+    void closingAContextReleasesItsLeasesImmediately() {
+        AnnotationConfigApplicationContext a = startNode("node-a", true);
+        AnnotationConfigApplicationContext b = startNode("node-b", true);
+        LocalDateTime now = LocalDateTime.now();
+        leases(a).heartbeat(now);
+        leases(b).heartbeat(now.plusSeconds(1));
+        leases(a).heartbeat(now.plusSeconds(2));
+        leases(b).heartbeat(now.plusSeconds(3));
+
+        b.close();
+        leases(a).heartbeat(now.plusSeconds(4));
+
+        assertEquals(PARTITIONS, leases(a).ownedPartitions().size());
+        assertEquals(0, jdbc.queryForObject("select count(*) from sla_node where node_id = 'node-b'", Integer.class));
+    }
+
+    @Test
+    void disabledNodeOwnsEverythingWithoutTouchingTheTables() {
+        AnnotationConfigApplicationContext a = startNode("node-a", false);
+
+        leases(a).heartbeat();
+
+        assertEquals(1, leases(a).partitionCount());
+        assertTrue(leases(a).owns(7L));
+        assertEquals(0, jdbc.queryForObject("select count(*) from sla_partition_lease", Integer.class));
+        assertFalse(leases(a).isEnabled());
+    }
+
+    // ================= HELPERS =================
+
+    private AnnotationConfigApplicationContext startNode(String nodeId, boolean enabled) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("node", Map.of(
+                "app.sla.cluster.enabled", String.valueOf(enabled),
+                "app.sla.cluster.partitions", String.valueOf(PARTITIONS),
+                "app.sla.cluster.lease-ttl-ms", String.valueOf(TTL_MS),
+                "app.sla.cluster.node-id", nodeId)));
+        context.register(NodeConfig.class, SlaPartitionLeases.class);
+        context.refresh();
+        contexts.add(context);
+        return context;
+    }
+
+    private static SlaPartitionLeases leases(AnnotationConfigApplicationContext context) {
+        return context.getBean(SlaPartitionLeases.class);
+    }
+
+    private static List<SlaPartitionsAssignedEvent> events(AnnotationConfigApplicationContext context) {
+        return context.getBean(AssignedEvents.class).received;
+    }
+
+    private static void assertDisjointAndComplete(Set<Integer> a, Set<Integer> b) {
+        Set<Integer> union = new HashSet<>(a);
+        union.addAll(b);
+        assertEquals(PARTITIONS, union.size());
+        assertEquals(a.size() + b.size(), union.size());
+    }
+
+    private static DataSource dataSource() {
+        return new DriverManagerDataSource(DB_URL, "sa", "");
+    }
+
+    @Configuration
+    static class NodeConfig {
+
+        @Bean
+        static PropertySourcesPlaceholderConfigurer placeholders() {
+            return new PropertySourcesPlaceholderConfigurer();
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate() {
+            return new JdbcTemplate(dataSource());
+        }
+
+        @Bean
+        AssignedEvents assignedEvents() {
+            return new AssignedEvents();
+        }
+    }
+
+    static class AssignedEvents {
+        private final List<SlaPartitionsAssignedEvent> received = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void on(SlaPartitionsAssignedEvent event) {
+            received.add(event);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.prodapt.network_ticketing.sla;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WorkingTimeIndexTest {
+
+    // Mon-Fri 09:00-17:00, with Wednesday 2026-01-07 a holiday
+    private static final LocalDate HOLIDAY = LocalDate.of(2026, 1, 7);
+    private final WorkingTimeIndex index = WorkingTimeIndex.compile(
+            LocalTime.of(9, 0), LocalTime.of(17, 0),
+            EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), Set.of(HOLIDAY),
+            LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1));
+
+    @Test
+    void addsWorkingTimeAcrossNightsWeekendsAndHolidays() {
+        // Friday 2026-01-02 16:00 + 2 working hours: 1h Friday, 1h Monday
+        assertEquals(LocalDateTime.of(2026, 1, 5, 10, 0),
+                index.plusWorkingSeconds(LocalDateTime.of(2026, 1, 2, 16, 0), 2 * 3600));
+        // Tuesday 2026-01-06 12:00 + 8h skips the Wednesday holiday
+        assertEquals(LocalDateTime.of(2026, 1, 8, 12, 0),
+                index.plusWorkingSeconds(LocalDateTime.of(2026, 1, 6, 12, 0), 8 * 3600));
+    }
+
+    @Test
+    void startsCountingAtTheNextOpeningAndEndsAtClosingTime() {
+        // Saturday night + 8h = the whole of Monday, due at Monday's close rather than Tuesday 09:00
+        assertEquals(LocalDateTime.of(2026, 1, 5, 17, 0),
+                index.plusWorkingSeconds(LocalDateTime.of(2026, 1, 3, 22, 0), 8 * 3600));
+    }
+
+    @Test
+    void measuresWorkingTimeBetweenTwoMoments() {
+        assertEquals(3 * 8 * 3600 + 3600, index.workingSecondsBetween(
+                LocalDateTime.of(2026, 1, 5, 9, 0), LocalDateTime.of(2026, 1, 9, 10, 0)));
+        assertEquals(0, index.workingSecondsBetween(
+                LocalDateTime.of(2026, 1, 3, 9, 0), LocalDateTime.of(2026, 1, 4, 20, 0)));
+    }
+
+    @Test
+    void returnsNullBeyondTheCompiledRange() {
+        assertNull(index.plusWorkingSeconds(LocalDateTime.of(2026, 1, 30, 9, 0), 40 * 3600));
+    }
+}
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from "react";
 import { useQuery, useMutation, useQueryClient } from "@tanstack/react-query";
 import { getCurrentUser } from "../auth/auth";
-import { getEngineerQueue, pickTicket, listAttachments, downloadAttachment, getTicketHistory, resolveTicket } from "../services/ticketApi";
+import { getEngineerQueue, pickTicket, listAttachments, downloadAttachment, getTicket, getTicketHistory, resolveTicket } from "../services/ticketApi";
 import StatusBadge from "../components/StatusBadge";
 
 export default function EngineerQueue() {
@@ -22,6 +22,7 @@ export default function EngineerQueue() {
   const resolveMutation = useMutation({ mutationFn: (payload) => resolveTicket(payload), onSuccess: () => { queryClient.invalidateQueries(["engineerQueue"]); queryClient.invalidateQueries(["tickets"]); } });
 
   const [selectedTicket, setSelectedTicket] = useState(null);
+  const [selectedDetail, setSelectedDetail] = useState(null);
   const [attachments, setAttachments] = useState([]);
   const [attachmentsLoading, setAttachmentsLoading] = useState(false);
   const [history, setHistory] = useState([]);
@@ -36,8 +37,12 @@ export default function EngineerQueue() {
   useEffect(() => {
     let mounted = true;
     async function loadDetails() {
+      setSelectedDetail(null);
       if (!selectedTicket) return;
       setAttachments([]); setHistory([]);
+      getTicket(selectedTicket.ticketId)
+        .then((d) => { if (mounted) setSelectedDetail(d); })
+        .catch((e) => console.error('failed to load ticket', e));
       setAttachmentsLoading(true); setHistoryLoading(true);
       try {
         const atts = await listAttachments(selectedTicket.ticketId);
@@ -112,7 +117,7 @@ export default function EngineerQueue() {
                 <div className="d-flex justify-content-between align-items-start mb-2">
                   <div>
                     <h6 className="card-subtitle mb-2">#{t.ticketId} • {t.priority || 'NOT SET'}</h6>
-                    <p className="card-text text-muted small" style={{ maxHeight: '40px', overflow: 'hidden' }}>{t.description}</p>
+                    <p className="card-text text-muted small" style={{ maxHeight: '40px', overflow: 'hidden' }}>{t.descriptionPreview}</p>
                   </div>
                   <div>
                     <StatusBadge status={t.status} />
@@ -145,7 +150,7 @@ export default function EngineerQueue() {
               <div className="modal-body">
                 {selectedTicket && (
                   <div>
-                    <h6 className="mb-3">{selectedTicket.description}</h6>
+                    <h6 className="mb-3">{selectedDetail?.description ?? selectedTicket.descriptionPreview}</h6>
                     <div className="row mb-3">
                       <div className="col-auto">
                         <small className="text-muted">Status: <strong>{selectedTicket.status}</strong></small>
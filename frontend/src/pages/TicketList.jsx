@@ -4,9 +4,9 @@ import { FontAwesomeIcon } from "@fortawesome/react-fontawesome";
 import { faExclamationTriangle, faClock, faCheckCircle } from "@fortawesome/free-solid-svg-icons";
 import StatusBadge from "../components/StatusBadge";
 import { getCurrentUser } from "../auth/auth";
-import { useQuery, useMutation, useQueryClient } from "@tanstack/react-query";
+import { useInfiniteQuery, useMutation, useQueryClient } from "@tanstack/react-query";
 import {
-  getAllTickets,
+  getTicketPage,
   assignTicket,
   resolveTicket,
   closeTicket,
@@ -14,7 +14,22 @@ import {
   pickTicket,
 } from "../services/ticketApi";
 import { autoAssignTicket } from "../services/ticketApi";
-import { listAttachments, downloadAttachment } from "../services/ticketApi";
+import { listAttachments, downloadAttachment, getTicket } from "../services/ticketApi";
+
+const PAGE_SIZE = 50;
+const ALL_STATUSES = ["NEW", "ASSIGNED", "IN_PROGRESS", "ON_HOLD", "RESOLVED", "CLOSED", "REOPENED"];
+
+// statuses the server should return for a view: engineers never list finished tickets and managers only see
+// closed ones under "Closed"; the status dropdown narrows that further
+function statusesFor(view, role, statusFilter) {
+  let statuses = view === "closed" ? ["CLOSED"] : ALL_STATUSES.filter((s) => {
+    if (s === "CLOSED") return view === "all" && role !== "ENGINEER" && role !== "MANAGER";
+    if (s === "RESOLVED") return role !== "ENGINEER";
+    return true;
+  });
+  if (statusFilter !== "ALL") statuses = statuses.filter((s) => s === statusFilter);
+  return statuses;
+}
 
 export default function TicketList({ role }) {
   const currentUser = getCurrentUser();
@@ -24,6 +39,7 @@ export default function TicketList({ role }) {
   const [reopenReasonMap, setReopenReasonMap] = useState({});
   const [tick, setTick] = useState(0);
   const [selectedTicket, setSelectedTicket] = useState(null);
+  const [selectedDetail, setSelectedDetail] = useState(null);
   const [attachments, setAttachments] = useState([]);
   const [attachmentsLoading, setAttachmentsLoading] = useState(false);
   const [previewUrl, setPreviewUrl] = useState(null);
@@ -40,7 +56,22 @@ export default function TicketList({ role }) {
   const [searchParams, setSearchParams] = useSearchParams();
   const [view, setView] = useState("open"); // open | closed | all
 
-  const { data: tickets = [], isLoading } = useQuery({ queryKey: ["tickets"], queryFn: getAllTickets, staleTime: 30_000, refetchInterval: 30_000 });
+  // filtered and paged on the server, newest first; the 30 s refresh only re-reads the pages already loaded
+  const statuses = statusesFor(view, role, statusFilter);
+  const filters = {
+    status: statuses.length === ALL_STATUSES.length ? undefined : statuses,
+    priority: priorityFilter !== 'ALL' ? priorityFilter : undefined,
+  };
+  const { data, isLoading, fetchNextPage, hasNextPage, isFetchingNextPage } = useInfiniteQuery({
+    queryKey: ["tickets", filters],
+    queryFn: ({ pageParam }) => getTicketPage({ ...filters, cursor: pageParam, size: PAGE_SIZE }),
+    initialPageParam: null,
+    getNextPageParam: (last) => (last.hasMore ? last.nextCursor : undefined),
+    enabled: statuses.length > 0,
+    staleTime: 30_000,
+    refetchInterval: 30_000,
+  });
+  const tickets = statuses.length > 0 ? (data?.pages.flatMap((p) => p.items) ?? []) : [];
 
   const assignMutation = useMutation({ mutationFn: (payload) => assignTicket(payload), onSuccess: () => queryClient.invalidateQueries(["tickets"]) });
   const autoAssignMutation = useMutation({ 
@@ -133,23 +164,11 @@ export default function TicketList({ role }) {
     setResolutionMap((prev) => { const updated = { ...prev }; delete updated[ticketId]; return updated; });
   };
 
-  const baseFiltered = tickets.filter((t) => {
-    if (role === "ENGINEER") return t.status !== "RESOLVED" && t.status !== "CLOSED";
-    if (role === "MANAGER") return t.status !== "CLOSED";
-    return true;
-  });
-
-  const closedOnly = tickets.filter((t) => t.status === "CLOSED");
-
-  const displayedTickets = view === "closed" ? closedOnly : baseFiltered.filter((t) => view === "open" ? t.status !== "CLOSED" : true);
-
-  // apply UI filters
-  const filteredTickets = displayedTickets.filter((t) => {
-    if (priorityFilter !== 'ALL' && (t.priority || 'NOT SET') !== priorityFilter) return false;
-    if (statusFilter !== 'ALL' && t.status !== statusFilter) return false;
+  // view, status and priority are applied by the server; the search box narrows the loaded pages
+  const filteredTickets = tickets.filter((t) => {
     if (searchTerm && searchTerm.trim() !== '') {
       const q = searchTerm.trim().toLowerCase();
-      const matches = String(t.ticketId).includes(q) || (t.description || '').toLowerCase().includes(q) || (t.priority || '').toLowerCase().includes(q);
+      const matches = String(t.ticketId).includes(q) || (t.descriptionPreview || '').toLowerCase().includes(q) || (t.priority || '').toLowerCase().includes(q);
       if (!matches) return false;
     }
     return true;
@@ -224,6 +243,18 @@ export default function TicketList({ role }) {
   const openDetails = (t) => setSelectedTicket(t);
   const closeDetails = () => setSelectedTicket(null);
 
+  // list rows only carry a description preview; load the full ticket when the dialog opens
+  useEffect(() => {
+    let mounted = true;
+    setSelectedDetail(null);
+    if (selectedTicket?.ticketId) {
+      getTicket(selectedTicket.ticketId)
+        .then((d) => { if (mounted) setSelectedDetail(d); })
+        .catch((e) => console.error('failed to load ticket', e));
+    }
+    return () => { mounted = false; };
+  }, [selectedTicket]);
+
   // fetch attachments when dialog opens for a ticket
   useEffect(() => {
     let mounted = true;
@@ -329,13 +360,13 @@ export default function TicketList({ role }) {
         <div className="col-md-12">
           <div className="btn-group" role="group">
             <button type="button" className={`btn btn-sm ${view === "open" ? "btn-primary" : "btn-outline-primary"}`} onClick={() => setView("open")}>
-              Open ({baseFiltered.filter(t => t.status !== 'CLOSED').length})
+              Open
             </button>
             <button type="button" className={`btn btn-sm ${view === "closed" ? "btn-primary" : "btn-outline-primary"}`} onClick={() => setView("closed")}>
-              Closed ({closedOnly.length})
+              Closed
             </button>
             <button type="button" className={`btn btn-sm ${view === "all" ? "btn-primary" : "btn-outline-primary"}`} onClick={() => setView("all")}>
-              All ({tickets.length})
+              All
             </button>
           </div>
         </div>
@@ -365,9 +396,9 @@ export default function TicketList({ role }) {
 
                 {/* Description */}
                 <p className="ticket-description">
-                  {t.description && t.description.length > 85 
-                    ? t.description.substring(0, 85) + '...' 
-                    : t.description}
+                  {t.descriptionPreview && t.descriptionPreview.length > 85 
+                    ? t.descriptionPreview.substring(0, 85) + '...' 
+                    : t.descriptionPreview}
                 </p>
 
                 {/* Status Badge */}
@@ -395,6 +426,14 @@ export default function TicketList({ role }) {
         </div>
       )}
 
+      {hasNextPage && (
+        <div className="text-center my-3">
+          <button type="button" className="btn btn-sm btn-outline-primary" disabled={isFetchingNextPage} onClick={() => fetchNextPage()}>
+            {isFetchingNextPage ? "Loading..." : "Load more"}
+          </button>
+        </div>
+      )}
+
       {selectedTicket && (
         <div className="modal d-block" style={{ backgroundColor: 'rgba(0,0,0,0.5)' }}>
           <div className="modal-dialog modal-lg">
@@ -405,7 +444,7 @@ export default function TicketList({ role }) {
               </div>
               <div className="modal-body">
                 <div className="ticket-detail-description">
-                  <p className="ticket-detail-text">{selectedTicket.description}</p>
+                  <p className="ticket-detail-text">{selectedDetail?.description ?? selectedTicket.descriptionPreview}</p>
                 </div>
                 <div className="row mb-3 align-items-center">
                   <div className="col-auto">
@@ -513,11 +552,11 @@ export default function TicketList({ role }) {
                   </>
                 )}
 
-                {selectedTicket.resolutionSummary && (
+                {selectedDetail?.resolutionSummary && (
                   <>
                     <hr />
                     <h6>Resolution Notes</h6>
-                    <p className="text-muted">{selectedTicket.resolutionSummary}</p>
+                    <p className="text-muted">{selectedDetail.resolutionSummary}</p>
                   </>
                 )}
 
@@ -5,8 +5,10 @@ export async function createTicket(data) {
   return res.data;
 }
 
-export async function getAllTickets() {
-  const res = await axiosClient.get("/tickets/all");
+// keyset-paginated listing: pass the previous page's nextCursor as params.cursor;
+// list filters (status, priority, ...) go out repeated, e.g. status=NEW&status=ASSIGNED
+export async function getTicketPage(params = {}) {
+  const res = await axiosClient.get("/tickets", { params, paramsSerializer: { indexes: null } });
   return res.data;
 }
 
@@ -77,6 +79,11 @@ export async function downloadAttachment(id) {
   return res.data;
 }
 
+export async function getTicket(ticketId) {
+  const res = await axiosClient.get(`/tickets/${ticketId}`);
+  return res.data;
+}
+
 export async function getTicketHistory(ticketId) {
   const res = await axiosClient.get(`/tickets/${ticketId}/history`);
   return res.data;